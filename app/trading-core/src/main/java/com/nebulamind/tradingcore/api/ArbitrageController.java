@@ -2,18 +2,23 @@ package com.nebulamind.tradingcore.api;
 
 import com.nebulamind.tradingcore.api.dto.arbitrage.ExecuteChainRequest;
 import com.nebulamind.tradingcore.api.dto.arbitrage.FindChainsRequest;
+import com.nebulamind.tradingcore.api.dto.arbitrage.FindMultiBaseChainsRequest;
 import com.nebulamind.tradingcore.api.dto.arbitrage.CreateTaskRequest;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageTask;
+import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
 import com.nebulamind.tradingcore.service.arbitrage.ArbitrageService;
 import com.nebulamind.tradingcore.service.arbitrage.TaskService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for arbitrage operations
@@ -38,12 +43,50 @@ public class ArbitrageController {
                 request.getBaseAsset(),
                 request.getMaxAssets(),
                 request.getChainLength(),
-                request.getMinProfitPercent()
+                request.getMinProfitPercent(),
+                request.getLimit() != null ? request.getLimit() : ArbitrageAnalyzer.NO_LIMIT,
+                request.getTimeBudgetMillis()
         );
         
         return ResponseEntity.ok(chains);
     }
 
+    /**
+     * Stream profitable arbitrage chains as newline-delimited JSON while the search runs
+     */
+    @PostMapping(value = "/chains/find/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ArbitrageChain> streamChains(@Valid @RequestBody FindChainsRequest request) {
+        log.info("POST /api/core/arbitrage/chains/find/stream: {}", request);
+        
+        return arbitrageService.streamProfitableChains(
+                request.getBaseAsset(),
+                request.getMaxAssets(),
+                request.getChainLength(),
+                request.getMinProfitPercent(),
+                request.getLimit() != null ? request.getLimit() : ArbitrageAnalyzer.NO_LIMIT
+        );
+    }
+
+    /**
+     * Find profitable arbitrage chains for several base assets in one scan
+     */
+    @PostMapping("/chains/find-multi")
+    public ResponseEntity<Map<String, List<ArbitrageChain>>> findChainsByBase(
+            @Valid @RequestBody FindMultiBaseChainsRequest request
+    ) {
+        log.info("POST /api/core/arbitrage/chains/find-multi: {}", request);
+        
+        Map<String, List<ArbitrageChain>> chainsByBase = arbitrageService.findProfitableChainsByBase(
+                request.getBaseAssets(),
+                request.getMaxAssets(),
+                request.getChainLength(),
+                request.getMinProfitPercent(),
+                request.getLimit() != null ? request.getLimit() : ArbitrageAnalyzer.NO_LIMIT
+        );
+        
+        return ResponseEntity.ok(chainsByBase);
+    }
+
     /**
      * Execute arbitrage chain
      */
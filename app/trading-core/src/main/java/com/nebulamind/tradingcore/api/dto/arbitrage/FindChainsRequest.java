@@ -2,6 +2,7 @@ package com.nebulamind.tradingcore.api.dto.arbitrage;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -27,4 +28,12 @@ public class FindChainsRequest {
     
     @Min(value = 0, message = "Min profit must be non-negative")
     private double minProfitPercent;
+    
+    // Optional, only the best N chains are returned (all when not set)
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+    
+    // Optional, best chains found within this many milliseconds are returned (server default when not set)
+    @Positive(message = "Time budget must be positive")
+    private Long timeBudgetMillis;
 }
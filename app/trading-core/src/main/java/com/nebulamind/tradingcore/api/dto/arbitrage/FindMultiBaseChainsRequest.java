@@ -0,0 +1,39 @@
+package com.nebulamind.tradingcore.api.dto.arbitrage;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for finding arbitrage chains for several base assets in one scan
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindMultiBaseChainsRequest {
+    
+    // Priority order, a cycle through several of them is reported for the first one
+    @NotEmpty(message = "At least one base asset is required")
+    private List<@NotBlank String> baseAssets;
+    
+    @Min(value = 2, message = "Max assets must be at least 2")
+    private int maxAssets;
+    
+    @Min(value = 2, message = "Chain length must be at least 2")
+    private int chainLength;
+    
+    @Min(value = 0, message = "Min profit must be non-negative")
+    private double minProfitPercent;
+    
+    // Optional, only the best N chains per base asset are returned (all when not set)
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
+}
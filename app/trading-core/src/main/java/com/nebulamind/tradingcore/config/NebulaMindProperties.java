@@ -7,6 +7,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration properties for NebulaMind Trading Core
  */
@@ -18,6 +21,8 @@ public class NebulaMindProperties {
     private Exchange exchange = new Exchange();
     private Risk risk = new Risk();
     private Sandbox sandbox = new Sandbox();
+    private Arbitrage arbitrage = new Arbitrage();
+    private Fees fees = new Fees();
 
     @Data
     public static class Exchange {
@@ -54,6 +59,92 @@ public class NebulaMindProperties {
         
         @Min(0)
         private double initialBtc = 0.0;
+        
+        // Interval of simulated market ticks, prices are fixed within a tick (0 = new tick on every read)
+        @Min(0)
+        private long tickMillis = 1000;
+        
+        // Distance between simulated best ask and best bid, percent of mid price
+        @Min(0)
+        private double spreadPct = 0.04;
+        
+        // Price distance between neighbouring simulated order book levels, percent of price
+        @Min(0)
+        private double bookLevelSpacingPct = 0.02;
+        
+        // Quote value of every simulated order book level as share of 24h quote volume
+        @Min(0)
+        private double bookLevelVolumeShare = 0.00001;
     }
-}
 
+    @Data
+    public static class Arbitrage {
+        @NotBlank
+        private String engine = "dfs"; // dfs | bellman-ford
+        
+        // Max cycles kept in a precomputed cycle catalog, larger universes are searched per scan (0 disables)
+        @Min(0)
+        private int catalogMaxCycles = 200_000;
+        
+        // Bulk catalog re-evaluation with the JDK Vector API, needs a -Pvector build and --add-modules jdk.incubator.vector (scalar otherwise)
+        private boolean vectorEvaluation = false;
+        
+        // Fork-join parallelism of per-scan cycle search (0 = all cores)
+        @Min(0)
+        private int searchParallelism = 0;
+        
+        // Per-scan searches of chains at least this long join half paths (meet in the middle, 0 disables)
+        @Min(0)
+        private int meetInTheMiddleMinLength = 4;
+        
+        // Max age of 24h volumes used to rank assets by liquidity (0 = reload every scan)
+        @Min(0)
+        private long volumeRefreshSeconds = 300;
+        
+        // Order book levels per symbol used for the profit curve of found chains (0 disables)
+        @Min(0)
+        private int depthLevels = 20;
+        
+        // Max scan results cached per (request, market snapshot version) (0 disables)
+        @Min(0)
+        private int scanCacheSize = 64;
+        
+        // Time budget of scans without their own, best chains found so far are returned (0 = no deadline)
+        @Min(0)
+        private long scanBudgetMillis = 0;
+    }
+
+    /**
+     * Trading fee schedule, most specific level wins: symbol > active tier > global
+     */
+    @Data
+    public static class Fees {
+        @Min(0)
+        @Max(100)
+        private double makerPct = 0.1;
+        
+        @Min(0)
+        @Max(100)
+        private double takerPct = 0.1;
+        
+        // Active VIP tier, key of tiers (empty = global rates)
+        private String tier;
+        
+        private Map<String, FeeRate> tiers = new HashMap<>();
+        private Map<String, FeeRate> symbols = new HashMap<>();
+    }
+
+    /**
+     * Fee override, unset rates fall back to the next less specific level
+     */
+    @Data
+    public static class FeeRate {
+        @Min(0)
+        @Max(100)
+        private Double makerPct;
+        
+        @Min(0)
+        @Max(100)
+        private Double takerPct;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nebulamind.tradingcore.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Best bid and ask of a trading pair
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookTicker {
+    private String symbol;
+    private double bidPrice;  // Highest buy price, market sells fill here
+    private double askPrice;  // Lowest sell price, market buys fill here
+    private long snapshotVersion;
+    
+    /**
+     * Relative distance between ask and bid, percent of mid price
+     */
+    public double spreadPercent() {
+        double mid = (bidPrice + askPrice) / 2.0;
+        return mid > 0 ? (askPrice - bidPrice) / mid * 100.0 : 0.0;
+    }
+}
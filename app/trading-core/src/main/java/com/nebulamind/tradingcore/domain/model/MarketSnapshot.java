@@ -0,0 +1,138 @@
+package com.nebulamind.tradingcore.domain.model;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prices of all trading pairs captured at one moment
+ *
+ * Immutable: symbols and prices are copied into primitive arrays on creation.
+ * The version grows with every capture, so two computations on the same
+ * version saw exactly the same market.
+ *
+ * Besides the last (mid) price every pair carries its best bid and ask (book
+ * ticker). Snapshots created from prices only quote bid = ask = price.
+ */
+public final class MarketSnapshot {
+
+    private final long version;
+    private final Instant timestamp;
+    private final String[] symbols;
+    private final double[] prices;
+    private final double[] bids;
+    private final double[] asks;
+    private final Map<String, Integer> index;
+
+    public MarketSnapshot(long version, Instant timestamp, String[] symbols, double[] prices) {
+        this(version, timestamp, symbols, prices, prices, prices);
+    }
+
+    /**
+     * @param bids Best bid per symbol
+     * @param asks Best ask per symbol
+     */
+    public MarketSnapshot(long version, Instant timestamp, String[] symbols, double[] prices, double[] bids, double[] asks) {
+        if (symbols.length != prices.length || symbols.length != bids.length || symbols.length != asks.length) {
+            throw new IllegalArgumentException("Got " + symbols.length + " symbols but " + prices.length + " prices, "
+                    + bids.length + " bids and " + asks.length + " asks");
+        }
+        this.version = version;
+        this.timestamp = timestamp;
+        this.symbols = symbols.clone();
+        this.prices = prices.clone();
+        this.bids = bids == prices ? this.prices : bids.clone();
+        this.asks = asks == prices ? this.prices : asks.clone();
+        this.index = new HashMap<>(symbols.length * 2);
+        for (int i = 0; i < symbols.length; i++) {
+            index.put(symbols[i], i);
+        }
+    }
+
+    /**
+     * Snapshot of prices map in its iteration order
+     */
+    public static MarketSnapshot of(long version, Map<String, Double> prices) {
+        String[] symbols = prices.keySet().toArray(new String[0]);
+        double[] values = new double[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            values[i] = prices.get(symbols[i]);
+        }
+        return new MarketSnapshot(version, Instant.now(), symbols, values);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @return Symbols in capture order
+     */
+    public List<String> getSymbols() {
+        return Arrays.asList(symbols.clone());
+    }
+
+    public String symbol(int i) {
+        return symbols[i];
+    }
+
+    public double price(int i) {
+        return prices[i];
+    }
+
+    /**
+     * @return Best bid, price a market sell fills at
+     */
+    public double bid(int i) {
+        return bids[i];
+    }
+
+    /**
+     * @return Best ask, price a market buy fills at
+     */
+    public double ask(int i) {
+        return asks[i];
+    }
+
+    /**
+     * @return Position of symbol or -1 if snapshot has no price for it
+     */
+    public int indexOf(String symbol) {
+        Integer i = index.get(symbol);
+        return i != null ? i : -1;
+    }
+
+    /**
+     * @return Price of symbol or 0 if snapshot has no price for it
+     */
+    public double price(String symbol) {
+        int i = indexOf(symbol);
+        return i >= 0 ? prices[i] : 0.0;
+    }
+
+    /**
+     * @return Best bid of symbol or 0 if snapshot has no price for it
+     */
+    public double bid(String symbol) {
+        int i = indexOf(symbol);
+        return i >= 0 ? bids[i] : 0.0;
+    }
+
+    /**
+     * @return Best ask of symbol or 0 if snapshot has no price for it
+     */
+    public double ask(String symbol) {
+        int i = indexOf(symbol);
+        return i >= 0 ? asks[i] : 0.0;
+    }
+}
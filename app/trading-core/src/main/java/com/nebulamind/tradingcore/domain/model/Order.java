@@ -25,6 +25,8 @@ public class Order {
     private Double price;
     private double executedQty;
     private Double avgPrice;
+    private double commission;      // Fee charged on the received asset
+    private String commissionAsset;
     private Instant createdAt;
     private Instant updatedAt;
     
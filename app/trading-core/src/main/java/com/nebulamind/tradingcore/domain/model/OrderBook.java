@@ -0,0 +1,34 @@
+package com.nebulamind.tradingcore.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Order book snapshot of a trading pair
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderBook {
+    private String symbol;
+    private List<Level> bids;  // Best (highest) price first
+    private List<Level> asks;  // Best (lowest) price first
+    private Instant timestamp;
+    
+    /**
+     * Price level with quantity in base asset
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Level {
+        private double price;
+        private double quantity;
+    }
+}
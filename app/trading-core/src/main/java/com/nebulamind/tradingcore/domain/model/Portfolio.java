@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Domain model for portfolio
@@ -31,8 +32,17 @@ public class Portfolio {
      * Calculate total equity including positions
      */
     public void calculateEquity() {
+        calculateEquity(p -> p.getQuantity() * p.getCurrentPrice());
+    }
+    
+    /**
+     * Calculate total equity including positions valued in portfolio currency
+     * 
+     * @param positionValue Value of a position in portfolio currency
+     */
+    public void calculateEquity(ToDoubleFunction<Position> positionValue) {
         double positionsValue = positions.stream()
-                .mapToDouble(p -> p.getQuantity() * p.getCurrentPrice())
+                .mapToDouble(positionValue)
                 .sum();
         this.totalEquity = freeBalance + lockedBalance + positionsValue;
         this.timestamp = Instant.now();
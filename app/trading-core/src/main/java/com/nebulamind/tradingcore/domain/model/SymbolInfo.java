@@ -0,0 +1,34 @@
+package com.nebulamind.tradingcore.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Exchange metadata of a trading pair (structure and order filters)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SymbolInfo {
+    private String symbol;      // Trading pair (e.g. BTCUSDT)
+    private String baseAsset;   // Asset being bought or sold (e.g. BTC)
+    private String quoteAsset;  // Asset the price is expressed in (e.g. USDT)
+    private double stepSize;    // Quantity increment (lot step)
+    private double minQty;      // Minimum order quantity
+    private double maxQty;      // Maximum order quantity
+    private double minNotional; // Minimum order value in quote asset
+    private int priceDecimals;  // Price precision
+    private int qtyDecimals;    // Quantity precision
+    private double makerFee;    // Fee of resting orders, fraction of traded value
+    private double takerFee;    // Fee of orders taking liquidity, fraction of traded value
+    
+    /**
+     * Order side that converts fromAsset into toAsset on this pair
+     */
+    public Order.OrderSide sideFor(String toAsset) {
+        return baseAsset.equals(toAsset) ? Order.OrderSide.BUY : Order.OrderSide.SELL;
+    }
+}
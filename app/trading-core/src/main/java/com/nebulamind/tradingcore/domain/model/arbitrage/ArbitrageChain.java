@@ -5,22 +5,31 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Domain model for triangular arbitrage chain
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ArbitrageChain {
-    private String id;
+    private String id;         // Traded path id, stable across scans (see chainId)
     private String baseAsset;  // Валюта А, яка є в наявності
     private List<ArbitrageStep> steps;
     private double profitPercent;
     private double minRequiredBaseAmount;
+    private long snapshotVersion;  // Market snapshot the profit was computed from
+    
+    // Order book depth (null when depth is not available)
+    private List<ProfitPoint> profitCurve;  // Profit versus input size, ascending size
+    private Double optimalBaseAmount;       // Input size with the highest absolute profit
+    private Double maxProfit;               // Absolute profit at optimal size, in base asset
+    
     private Instant timestamp;
     private ChainStatus status;
     
@@ -87,6 +96,67 @@ public class ArbitrageChain {
                 .toList();
     }
     
+    /**
+     * Rotation-invariant key of the directed cycle traded by this chain
+     */
+    public String cycleKey() {
+        return cycleKey(steps);
+    }
+    
+    /**
+     * Deterministic id of the path traded by steps
+     * 
+     * Steps are rendered as "symbol:from>to" tokens in trading order, so the
+     * same path gets the same id in every scan. Rotations of a cycle start
+     * from different assets and trade different amounts, each gets its own id.
+     * 
+     * @return Name-based UUID of step path
+     */
+    public static String chainId(List<ArbitrageStep> steps) {
+        return nameUuid(String.join(",", tokens(steps)));
+    }
+    
+    /**
+     * Deterministic key of the directed cycle traded by steps
+     * 
+     * Tokens are rotated to the lexicographically smallest rotation, so the
+     * same cycle gets the same key whichever asset it starts from. The
+     * opposite direction is a different cycle and gets a different key.
+     * Used to report every cycle once, never to address a chain.
+     * 
+     * @return Name-based UUID of canonical step path
+     */
+    public static String cycleKey(List<ArbitrageStep> steps) {
+        List<String> tokens = tokens(steps);
+        
+        String canonical = tokens.isEmpty() ? "" : null;
+        for (int start = 0; start < tokens.size(); start++) {
+            StringBuilder rotation = new StringBuilder();
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i > 0) {
+                    rotation.append(',');
+                }
+                rotation.append(tokens.get((start + i) % tokens.size()));
+            }
+            String candidate = rotation.toString();
+            if (canonical == null || candidate.compareTo(canonical) < 0) {
+                canonical = candidate;
+            }
+        }
+        
+        return nameUuid(canonical);
+    }
+    
+    private static List<String> tokens(List<ArbitrageStep> steps) {
+        return steps.stream()
+                .map(step -> step.getSymbol() + ":" + step.getFromAsset() + ">" + step.getToAsset())
+                .toList();
+    }
+    
+    private static String nameUuid(String path) {
+        return UUID.nameUUIDFromBytes(path.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+    
     /**
      * Calculate expected profit for amount
      */
@@ -0,0 +1,27 @@
+package com.nebulamind.tradingcore.domain.model.arbitrage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of one arbitrage scan
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArbitrageScan {
+    
+    /**
+     * Snapshot version of a scan that cannot tell which snapshot it priced
+     */
+    public static final long UNKNOWN_VERSION = -1L;
+    
+    private List<ArbitrageChain> chains;  // Profitable chains, sorted by profit desc
+    private long snapshotVersion;         // Market snapshot the chains were priced from
+    private boolean complete;             // false when the search was cut short (deadline, newer snapshot)
+}
@@ -9,14 +9,15 @@ import lombok.NoArgsConstructor;
  * One step in arbitrage chain (one trade)
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ArbitrageStep {
     private String fromAsset;  // Валюта, яку продаємо
     private String toAsset;    // Валюта, яку купуємо
     private String symbol;     // Trading pair (e.g. BTCUSDT)
-    private double rate;       // Current exchange rate
+    private double rate;       // Units of toAsset received per unit of fromAsset, after fee
+    private double fee;        // Taker fee charged on received toAsset (fraction)
     private double minQty;     // Minimum order quantity
     private double maxQty;     // Maximum order quantity
     private int priceDecimals; // Price precision
@@ -33,6 +34,13 @@ public class ArbitrageStep {
         return inputAmount * rate;
     }
     
+    /**
+     * Units of toAsset traded per unit of fromAsset before the fee is deducted
+     */
+    public double grossRate() {
+        return rate / (1.0 - fee);
+    }
+    
     /**
      * Format quantity according to decimals
      */
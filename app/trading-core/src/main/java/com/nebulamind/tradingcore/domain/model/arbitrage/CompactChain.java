@@ -0,0 +1,246 @@
+package com.nebulamind.tradingcore.domain.model.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable flyweight form of a found arbitrage chain
+ *
+ * Steps are stored as primitive columns: symbol ids of SymbolRegistry, one
+ * direction bit per step (set when the step buys the pair's base asset) and
+ * the net rate of every step. Asset names, fees and order filters are not
+ * repeated per chain, they are resolved from shared symbol metadata when the
+ * chain is expanded to an ArbitrageChain at the API boundary.
+ *
+ * The name-based UUID id is kept as its two longs and the depth profit curve
+ * as (base amount, profit) pairs of one double array, unknown depth values are
+ * NaN. With a 12-point curve that is about 240 bytes per chain for id and
+ * depth instead of about 700 for a String id, a list of 12 ProfitPoint
+ * objects and two boxed Doubles (compressed oops, 8 byte alignment).
+ *
+ * Being immutable, one instance can be cached, registered and handed to
+ * concurrent callers without copying.
+ */
+@Getter
+public final class CompactChain {
+
+    @Getter(AccessLevel.NONE)
+    private final long idMostBits;
+    @Getter(AccessLevel.NONE)
+    private final long idLeastBits;
+    private final double profitPercent;
+    private final double minRequiredBaseAmount;
+    private final long snapshotVersion;
+    private final long timestampMillis;
+
+    // Order book depth: (base amount, profit) pairs, null curve and NaN amounts when depth is not available
+    @Getter(AccessLevel.NONE)
+    private final double[] profitCurve;
+    private final double optimalBaseAmount;
+    private final double maxProfit;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] symbolIds;
+    @Getter(AccessLevel.NONE)
+    private final long[] buyBits;
+    @Getter(AccessLevel.NONE)
+    private final double[] rates;
+
+    public CompactChain(
+            UUID id,
+            int[] symbolIds,
+            long[] buyBits,
+            double[] rates,
+            double profitPercent,
+            double minRequiredBaseAmount,
+            long snapshotVersion,
+            long timestampMillis,
+            double[] profitCurve,
+            double optimalBaseAmount,
+            double maxProfit
+    ) {
+        if (symbolIds.length == 0 || rates.length != symbolIds.length || buyBits.length != words(symbolIds.length)) {
+            throw new IllegalArgumentException("Chain columns do not match: " + symbolIds.length + " symbols, "
+                    + rates.length + " rates, " + buyBits.length + " direction words");
+        }
+        if (profitCurve != null && profitCurve.length % 2 != 0) {
+            throw new IllegalArgumentException("Profit curve is not made of (amount, profit) pairs: " + profitCurve.length);
+        }
+        this.idMostBits = id.getMostSignificantBits();
+        this.idLeastBits = id.getLeastSignificantBits();
+        this.symbolIds = symbolIds;
+        this.buyBits = buyBits;
+        this.rates = rates;
+        this.profitPercent = profitPercent;
+        this.minRequiredBaseAmount = minRequiredBaseAmount;
+        this.snapshotVersion = snapshotVersion;
+        this.timestampMillis = timestampMillis;
+        this.profitCurve = profitCurve;
+        this.optimalBaseAmount = optimalBaseAmount;
+        this.maxProfit = maxProfit;
+    }
+
+    /**
+     * Compact a chain built by an analyzer
+     *
+     * @param chain Chain with steps
+     * @param symbolIds Symbol id lookup (negative for unknown symbols)
+     * @param symbols Symbol metadata by id
+     * @throws IllegalArgumentException if chain has no steps, its id is not a UUID or it trades an unknown symbol
+     */
+    public static CompactChain of(ArbitrageChain chain, ToIntFunction<String> symbolIds, IntFunction<SymbolInfo> symbols) {
+        List<ArbitrageStep> steps = chain.getSteps();
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("Chain has no steps: " + chain.getId());
+        }
+
+        int[] ids = new int[steps.size()];
+        long[] bits = new long[words(steps.size())];
+        double[] rates = new double[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            ArbitrageStep step = steps.get(i);
+            ids[i] = symbolIds.applyAsInt(step.getSymbol());
+            if (ids[i] < 0) {
+                throw new IllegalArgumentException("Unknown symbol: " + step.getSymbol());
+            }
+            // Receiving the pair's base asset is a BUY
+            if (symbols.apply(ids[i]).getBaseAsset().equals(step.getToAsset())) {
+                bits[i >>> 6] |= 1L << i;
+            }
+            rates[i] = step.getRate();
+        }
+
+        return new CompactChain(
+                UUID.fromString(chain.getId()),
+                ids,
+                bits,
+                rates,
+                chain.getProfitPercent(),
+                chain.getMinRequiredBaseAmount(),
+                chain.getSnapshotVersion(),
+                chain.getTimestamp() != null ? chain.getTimestamp().toEpochMilli() : System.currentTimeMillis(),
+                curve(chain.getProfitCurve()),
+                chain.getOptimalBaseAmount() != null ? chain.getOptimalBaseAmount() : Double.NaN,
+                chain.getMaxProfit() != null ? chain.getMaxProfit() : Double.NaN);
+    }
+
+    /**
+     * @return Chain id (name-based UUID)
+     */
+    public String getId() {
+        return new UUID(idMostBits, idLeastBits).toString();
+    }
+
+    public int length() {
+        return symbolIds.length;
+    }
+
+    public int symbolId(int step) {
+        return symbolIds[step];
+    }
+
+    /**
+     * @return true if step buys the pair's base asset, false if it sells it
+     */
+    public boolean isBuy(int step) {
+        return (buyBits[step >>> 6] & (1L << step)) != 0;
+    }
+
+    /**
+     * @return Units received per unit spent in step, after fee
+     */
+    public double rate(int step) {
+        return rates[step];
+    }
+
+    /**
+     * Expand one step with metadata of its symbol
+     */
+    public ArbitrageStep step(int step, IntFunction<SymbolInfo> symbols) {
+        SymbolInfo info = symbols.apply(symbolIds[step]);
+        boolean buy = isBuy(step);
+        return ArbitrageStep.builder()
+                .fromAsset(buy ? info.getQuoteAsset() : info.getBaseAsset())
+                .toAsset(buy ? info.getBaseAsset() : info.getQuoteAsset())
+                .symbol(info.getSymbol())
+                .rate(rates[step])
+                .fee(info.getTakerFee())
+                .minQty(info.getMinQty())
+                .maxQty(info.getMaxQty())
+                .priceDecimals(info.getPriceDecimals())
+                .qtyDecimals(info.getQtyDecimals())
+                .build();
+    }
+
+    /**
+     * Expand to a new chain with status FOUND
+     *
+     * @param symbols Symbol metadata by id
+     */
+    public ArbitrageChain expand(IntFunction<SymbolInfo> symbols) {
+        List<ArbitrageStep> steps = new ArrayList<>(symbolIds.length);
+        for (int i = 0; i < symbolIds.length; i++) {
+            steps.add(step(i, symbols));
+        }
+
+        return ArbitrageChain.builder()
+                .id(getId())
+                .baseAsset(steps.get(0).getFromAsset())
+                .steps(steps)
+                .profitPercent(profitPercent)
+                .minRequiredBaseAmount(minRequiredBaseAmount)
+                .snapshotVersion(snapshotVersion)
+                .profitCurve(points(profitCurve))
+                .optimalBaseAmount(Double.isNaN(optimalBaseAmount) ? null : optimalBaseAmount)
+                .maxProfit(Double.isNaN(maxProfit) ? null : maxProfit)
+                .timestamp(Instant.ofEpochMilli(timestampMillis))
+                .status(ArbitrageChain.ChainStatus.FOUND)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "CompactChain(id=" + getId() + ", symbolIds=" + Arrays.toString(symbolIds)
+                + ", profitPercent=" + profitPercent + ", snapshotVersion=" + snapshotVersion + ")";
+    }
+
+    private static double[] curve(List<ProfitPoint> points) {
+        if (points == null) {
+            return null;
+        }
+        double[] curve = new double[points.size() * 2];
+        for (int i = 0; i < points.size(); i++) {
+            curve[2 * i] = points.get(i).getBaseAmount();
+            curve[2 * i + 1] = points.get(i).getProfit();
+        }
+        return curve;
+    }
+
+    private static List<ProfitPoint> points(double[] curve) {
+        if (curve == null) {
+            return null;
+        }
+        List<ProfitPoint> points = new ArrayList<>(curve.length / 2);
+        for (int i = 0; i < curve.length; i += 2) {
+            points.add(ProfitPoint.builder()
+                    .baseAmount(curve[i])
+                    .profit(curve[i + 1])
+                    .profitPercent(curve[i + 1] / curve[i] * 100.0)
+                    .build());
+        }
+        return points;
+    }
+
+    private static int words(int steps) {
+        return (steps + 63) >>> 6;
+    }
+}
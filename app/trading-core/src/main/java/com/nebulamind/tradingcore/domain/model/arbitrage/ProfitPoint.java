@@ -0,0 +1,19 @@
+package com.nebulamind.tradingcore.domain.model.arbitrage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Expected chain result for one input size, walking order book depth
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfitPoint {
+    private double baseAmount;     // Input in base asset
+    private double profit;         // Absolute profit in base asset
+    private double profitPercent;  // Profit relative to input
+}
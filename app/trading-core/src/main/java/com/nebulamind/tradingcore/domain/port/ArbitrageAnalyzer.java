@@ -1,14 +1,28 @@
 package com.nebulamind.tradingcore.domain.port;
 
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Port interface for arbitrage analysis
  */
 public interface ArbitrageAnalyzer {
     
+    /**
+     * No limit on number of returned chains
+     */
+    int NO_LIMIT = 0;
+    
     /**
      * Find profitable arbitrage opportunities
      * 
@@ -18,13 +32,140 @@ public interface ArbitrageAnalyzer {
      * @param minProfitPercent Minimum profit to consider
      * @return List of profitable chains, sorted by profit desc
      */
-    List<ArbitrageChain> findArbitrageOpportunities(
+    default List<ArbitrageChain> findArbitrageOpportunities(
             String baseAsset,
             int maxAssets,
             int chainLength,
             double minProfitPercent
+    ) {
+        return findArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, NO_LIMIT);
+    }
+    
+    /**
+     * Find the most profitable arbitrage opportunities
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains to return (NO_LIMIT for all)
+     * @return Up to limit profitable chains, sorted by profit desc
+     */
+    List<ArbitrageChain> findArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
     );
     
+    /**
+     * Find the most profitable arbitrage opportunities within a time budget
+     * 
+     * The search stops at the deadline, or earlier when a newer market
+     * snapshot supersedes the one it started from, and returns the best chains
+     * found until then as an incomplete scan. The default ignores the deadline
+     * and runs a full scan.
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains to return (NO_LIMIT for all)
+     * @param deadline End of the search (null for no deadline)
+     * @return Up to limit profitable chains sorted by profit desc, priced snapshot and completeness
+     */
+    default ArbitrageScan scanArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            Instant deadline
+    ) {
+        List<ArbitrageChain> chains = findArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, limit);
+        return ArbitrageScan.builder()
+                .chains(chains)
+                .snapshotVersion(chains.isEmpty() ? ArbitrageScan.UNKNOWN_VERSION : chains.get(0).getSnapshotVersion())
+                .complete(true)
+                .build();
+    }
+    
+    /**
+     * Receiver of chains streamed while a search is still running
+     */
+    @FunctionalInterface
+    interface ChainListener {
+        
+        /**
+         * May be called from several search threads at once
+         * 
+         * @return false to stop the search
+         */
+        boolean onChain(ArbitrageChain chain);
+    }
+    
+    /**
+     * Stream profitable arbitrage opportunities in discovery order
+     * 
+     * Every chain is passed to the listener as soon as the search finds it,
+     * unsorted and without order book depth. Returns when the search is
+     * complete or the listener asked to stop. The default runs the regular
+     * search and replays its sorted result.
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param listener Receiver of every profitable chain
+     */
+    default void streamArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            ChainListener listener
+    ) {
+        for (ArbitrageChain chain : findArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, NO_LIMIT)) {
+            if (!listener.onChain(chain)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Find the most profitable opportunities for several base assets at once
+     * 
+     * Every cycle is reported once, in the group of the first requested base
+     * asset that can trade it. The default runs one search per base asset,
+     * engines override it to share a single graph snapshot and traversal.
+     * 
+     * @param baseAssets Base assets in priority order
+     * @param maxAssets Maximum number of assets to analyze per base asset
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains per base asset (NO_LIMIT for all)
+     * @return Profitable chains per base asset in request order, each sorted by profit desc
+     */
+    default Map<String, List<ArbitrageChain>> findArbitrageOpportunitiesByBase(
+            List<String> baseAssets,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        Map<String, List<ArbitrageChain>> result = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (String baseAsset : new LinkedHashSet<>(baseAssets)) {
+            List<ArbitrageChain> chains = findArbitrageOpportunities(
+                    baseAsset, maxAssets, chainLength, minProfitPercent, limit);
+            result.put(baseAsset, chains.stream()
+                    .filter(chain -> seen.add(chain.cycleKey()))
+                    .collect(Collectors.toList()));
+        }
+        return result;
+    }
+    
     /**
      * Get list of available trading pairs
      * 
@@ -40,6 +181,22 @@ public interface ArbitrageAnalyzer {
      */
     double getCurrentRate(String symbol);
     
+    /**
+     * Get prices of all pairs captured at one moment
+     * 
+     * @return Market snapshot the next scan or revalidation should price chains with
+     */
+    MarketSnapshot getMarketSnapshot();
+    
+    /**
+     * Get version of the latest market snapshot without moving the market
+     * 
+     * @return Snapshot version (see ExchangeGateway#getMarketVersion)
+     */
+    default long getMarketVersion() {
+        return getMarketSnapshot().getVersion();
+    }
+    
     /**
      * Check if trading pair is active
      * 
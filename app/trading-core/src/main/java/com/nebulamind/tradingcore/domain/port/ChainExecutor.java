@@ -1,42 +1,56 @@
 package com.nebulamind.tradingcore.domain.port;
 
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
 
 /**
  * Port interface for executing arbitrage chains
+ *
+ * Chains are registered and executed in compact form, only status queries
+ * expand them to full ArbitrageChain views.
  */
 public interface ChainExecutor {
-    
+
     /**
      * Execute arbitrage chain
-     * 
+     *
      * @param chain Chain to execute
      * @param baseAmount Amount of base asset to trade
      * @return Updated chain with execution status
+     * @throws IllegalStateException if the chain is already being executed
      */
-    ArbitrageChain executeChain(ArbitrageChain chain, double baseAmount);
-    
+    ArbitrageChain executeChain(CompactChain chain, double baseAmount);
+
     /**
      * Cancel chain execution
-     * 
+     *
      * @param chainId Chain ID to cancel
      * @return true if cancelled successfully
      */
     boolean cancelChain(String chainId);
-    
+
     /**
      * Get chain execution status
-     * 
+     *
      * @param chainId Chain ID
-     * @return Chain with current status
+     * @return Chain with current status, null if not registered
      */
     ArbitrageChain getChainStatus(String chainId);
-    
+
+    /**
+     * Get registered chain as found or last repriced
+     *
+     * @param chainId Chain ID
+     * @return Compact chain, null if not registered
+     */
+    CompactChain getChain(String chainId);
+
     /**
      * Register arbitrage chain for future execution
-     * This stores the chain so it can be retrieved later by chainId
-     * 
+     * This stores the chain so it can be retrieved later by chainId.
+     * Re-registering a chain that is executing or finished keeps its status and results.
+     *
      * @param chain Chain to register
      */
-    void registerChain(ArbitrageChain chain);
+    void registerChain(CompactChain chain);
 }
@@ -0,0 +1,25 @@
+package com.nebulamind.tradingcore.domain.port;
+
+/**
+ * Port interface for converting amounts between assets at current market rates
+ */
+public interface CurrencyConverter {
+
+    /**
+     * Convert amount of one asset into another
+     *
+     * @param amount Amount of fromAsset
+     * @param fromAsset Asset the amount is expressed in (e.g. BTC)
+     * @param toAsset Asset to express the amount in (e.g. USDT)
+     * @return Equivalent amount of toAsset
+     * @throws IllegalArgumentException if the market has no conversion path between the assets
+     */
+    double convert(double amount, String fromAsset, String toAsset);
+
+    /**
+     * Check if amounts of fromAsset can be converted into toAsset
+     *
+     * @return true if the market has a conversion path between the assets
+     */
+    boolean canConvert(String fromAsset, String toAsset);
+}
@@ -1,7 +1,11 @@
 package com.nebulamind.tradingcore.domain.port;
 
+import com.nebulamind.tradingcore.domain.model.BookTicker;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
 import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.OrderBook;
 import com.nebulamind.tradingcore.domain.model.Portfolio;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
 
 /**
  * Port interface for exchange operations
@@ -51,6 +55,59 @@ public interface ExchangeGateway {
      */
     double getCurrentPrice(String symbol);
     
+    /**
+     * Capture prices of all available pairs at one moment
+     * 
+     * @return Immutable snapshot, version grows with every market change
+     */
+    MarketSnapshot getMarketSnapshot();
+    
+    /**
+     * Get version of the latest market snapshot without moving the market
+     * 
+     * Used to poll for newer snapshots, so implementations that produce
+     * snapshots on read must not start a new one here. The default reads
+     * the snapshot, which is only right for gateways without such side effects.
+     * 
+     * @return Version of the latest snapshot (0 before the first one)
+     */
+    default long getMarketVersion() {
+        return getMarketSnapshot().getVersion();
+    }
+    
+    /**
+     * Get best bid and ask for a symbol
+     * 
+     * @param symbol Trading pair symbol
+     * @return Book ticker of the current market snapshot (zero prices if symbol is not quoted)
+     */
+    default BookTicker getBookTicker(String symbol) {
+        MarketSnapshot snapshot = getMarketSnapshot();
+        return BookTicker.builder()
+                .symbol(symbol)
+                .bidPrice(snapshot.bid(symbol))
+                .askPrice(snapshot.ask(symbol))
+                .snapshotVersion(snapshot.getVersion())
+                .build();
+    }
+    
+    /**
+     * Get order book depth for a symbol
+     * 
+     * @param symbol Trading pair symbol
+     * @param depth Max number of price levels per side
+     * @return Order book snapshot, best levels first
+     */
+    OrderBook getOrderBook(String symbol, int depth);
+    
+    /**
+     * Get rolling 24h traded volume for a symbol
+     * 
+     * @param symbol Trading pair symbol
+     * @return Volume in quote asset units (0 if unknown)
+     */
+    double get24hQuoteVolume(String symbol);
+    
     /**
      * Check if exchange is available
      * 
@@ -65,6 +122,13 @@ public interface ExchangeGateway {
      */
     java.util.List<String> getAvailablePairs();
     
+    /**
+     * Get metadata of all trading pairs (base/quote assets and order filters)
+     * 
+     * @return Symbol metadata, one entry per available pair
+     */
+    java.util.List<SymbolInfo> getSymbols();
+    
     /**
      * Check if a trading pair is active
      * 
@@ -0,0 +1,64 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds chain and step objects for cycles found by arbitrage analyzers
+ */
+final class ArbitrageChainFactory {
+
+    private ArbitrageChainFactory() {
+    }
+
+    /**
+     * Create step for traversing graph edge
+     */
+    static ArbitrageStep step(TradingGraph graph, int edge) {
+        SymbolInfo info = graph.symbolInfo(graph.symbolId(edge));
+        return ArbitrageStep.builder()
+                .fromAsset(graph.asset(graph.source(edge)))
+                .toAsset(graph.asset(graph.target(edge)))
+                .symbol(info.getSymbol())
+                .rate(graph.rate(edge))
+                .fee(info.getTakerFee())
+                .minQty(info.getMinQty())
+                .maxQty(info.getMaxQty())
+                .priceDecimals(info.getPriceDecimals())
+                .qtyDecimals(info.getQtyDecimals())
+                .build();
+    }
+
+    /**
+     * Create chain for closed cycle
+     *
+     * @param base Asset the cycle starts and ends with
+     * @param path Edge ids of the cycle in trading order
+     */
+    static ArbitrageChain chain(TradingGraph graph, int base, int[] path) {
+        List<ArbitrageStep> steps = new ArrayList<>(path.length);
+        double accumulatedRate = 1.0;
+        for (int edge : path) {
+            steps.add(step(graph, edge));
+            accumulatedRate *= graph.rate(edge);
+        }
+
+        // Calculate profit
+        double profitPercent = (accumulatedRate - 1.0) * 100.0;
+
+        return ArbitrageChain.builder()
+                .id(ArbitrageChain.chainId(steps))
+                .baseAsset(graph.asset(base))
+                .steps(steps)
+                .profitPercent(profitPercent)
+                .snapshotVersion(graph.snapshotVersion())
+                .timestamp(Instant.now())
+                .status(ArbitrageChain.ChainStatus.FOUND)
+                .build();
+    }
+}
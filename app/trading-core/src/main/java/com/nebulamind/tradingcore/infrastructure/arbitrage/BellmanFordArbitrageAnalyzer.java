@@ -0,0 +1,373 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
+import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ArbitrageAnalyzer based on negative cycle detection
+ *
+ * Edges are weighted with -log(rate), so a cycle is profitable when its total
+ * weight is negative. For every first hop out of the base asset a hop-bounded
+ * Bellman-Ford relaxation (SPFA-style, only assets reached on the previous
+ * layer are relaxed) finds the cheapest paths of exactly chainLength - 1 hops
+ * back to each predecessor of the base asset. Cost is O(d * L * E * K) instead
+ * of the O(d^L) path enumeration of the DFS engine.
+ *
+ * One best path per (hop, asset) is not enough for simple cycles: when the
+ * cheapest prefix already passes through the next asset, the extension is
+ * blocked and a valid cycle through a worse prefix would be lost. Every
+ * (hop, asset) therefore keeps up to {@link #PREFIXES_PER_ASSET} cheapest
+ * prefixes with distinct sets of visited assets (of two prefixes over the same
+ * assets the cheaper one completes every cycle at least as well). The result
+ * is the best cycle per first hop, asset set and last hop, exact as long as no
+ * (hop, asset) is reached over more distinct asset sets than that.
+ *
+ * Deadlines and newer snapshots stop the relaxation like the DFS engine.
+ * Streaming and multi-base scans use the port defaults: chains are streamed
+ * after the search completed, and every base asset is searched on its own.
+ *
+ * Selected with nebulamind.arbitrage.engine=bellman-ford
+ */
+@Component
+@ConditionalOnExpression("'${nebulamind.exchange.type:}' == 'sandbox' and '${nebulamind.arbitrage.engine:dfs}' == 'bellman-ford'")
+@Slf4j
+public class BellmanFordArbitrageAnalyzer implements ArbitrageAnalyzer {
+
+    /**
+     * Cheapest prefixes with distinct asset sets kept per (hop, asset)
+     */
+    static final int PREFIXES_PER_ASSET = 16;
+
+    private final ExchangeGateway exchangeGateway;
+    private final LiveTradingGraph tradingGraph;
+    private final ChainDepthProfiler depthProfiler;
+    private final MinAmountCalculator minAmountCalculator;
+
+    public BellmanFordArbitrageAnalyzer(
+            ExchangeGateway exchangeGateway,
+            SymbolRegistry symbolRegistry,
+            NebulaMindProperties properties
+    ) {
+        this.exchangeGateway = exchangeGateway;
+        this.tradingGraph = new LiveTradingGraph(exchangeGateway, symbolRegistry, properties.getArbitrage().getVolumeRefreshSeconds());
+        this.depthProfiler = new ChainDepthProfiler(exchangeGateway, symbolRegistry, properties.getArbitrage().getDepthLevels());
+        this.minAmountCalculator = new MinAmountCalculator(symbolRegistry);
+    }
+
+    @Override
+    public List<ArbitrageChain> findArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        return scanArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, limit, null).getChains();
+    }
+
+    @Override
+    public ArbitrageScan scanArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            Instant deadline
+    ) {
+        log.info("Finding arbitrage opportunities (bellman-ford): baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%, limit={}, deadline={}",
+                baseAsset, maxAssets, chainLength, minProfitPercent, limit, deadline);
+
+        TradingGraph graph = tradingGraph.refresh();
+        int base = graph.assetId(baseAsset);
+        ScanBudget budget = ScanBudget.until(deadline, graph.snapshotVersion(), exchangeGateway::getMarketVersion);
+
+        BitSet selectedAssets = graph.selectTopAssets(base, maxAssets, chainLength);
+        log.info("Selected {} assets for analysis: {}", selectedAssets.cardinality(), graph.assetNames(selectedAssets));
+
+        List<ArbitrageChain> allChains = findCycles(graph, base, selectedAssets, chainLength, minProfitPercent, limit, budget);
+        if (budget.reason() != null) {
+            log.info("Scan cut short ({}), keeping best {} chains found so far", budget.reason(), allChains.size());
+        }
+        log.info("Found {} potential chains", allChains.size());
+
+        List<ArbitrageChain> profitableChains = allChains.stream()
+                .filter(chain -> chain.getProfitPercent() >= minProfitPercent)
+                .sorted(Comparator.comparingDouble(ArbitrageChain::getProfitPercent).reversed())
+                .collect(Collectors.toList());
+
+        minAmountCalculator.apply(profitableChains);
+        depthProfiler.profile(profitableChains);
+        log.info("Found {} profitable chains (>{}%)", profitableChains.size(), minProfitPercent);
+
+        return ArbitrageScan.builder()
+                .chains(profitableChains)
+                .snapshotVersion(graph.snapshotVersion())
+                .complete(budget.reason() == null)
+                .build();
+    }
+
+    @Override
+    public List<String> getAvailablePairs() {
+        return exchangeGateway.getAvailablePairs();
+    }
+
+    @Override
+    public double getCurrentRate(String symbol) {
+        try {
+            return exchangeGateway.getCurrentPrice(symbol);
+        } catch (Exception e) {
+            log.error("Failed to get rate for {}: {}", symbol, e.getMessage());
+            return 0.0;
+        }
+    }
+
+    @Override
+    public MarketSnapshot getMarketSnapshot() {
+        return exchangeGateway.getMarketSnapshot();
+    }
+
+    @Override
+    public long getMarketVersion() {
+        return exchangeGateway.getMarketVersion();
+    }
+
+    @Override
+    public boolean isPairActive(String symbol) {
+        return exchangeGateway.isPairActive(symbol);
+    }
+
+    /**
+     * Find best cycle for every first hop, asset set and last hop through base asset
+     */
+    private List<ArbitrageChain> findCycles(
+            TradingGraph graph,
+            int base,
+            BitSet allowedAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            ScanBudget budget
+    ) {
+        List<ArbitrageChain> chains = new ArrayList<>();
+        if (base < 0 || chainLength < 2) {
+            return chains;
+        }
+
+        TopCycles top = new TopCycles(limit, chainLength);
+        int[] path = new int[chainLength];
+
+        // Cycle weight (sum of -log(rate)) must not exceed -log(1 + minProfit) to be reported
+        double maxWeight = -Math.log1p(minProfitPercent / 100.0);
+
+        int n = graph.assetCount();
+        Prefixes prefixes = new Prefixes(graph, chainLength, n);
+        long relaxations = 0;
+
+        for (int firstEdge = graph.edgeStart(base); firstEdge < graph.edgeEnd(base) && !budget.isExhausted(); firstEdge++) {
+            int first = graph.target(firstEdge);
+            if (first == base || !allowedAssets.get(first)) {
+                continue;
+            }
+
+            prefixes.clear();
+            prefixes.offer(1, first, -graph.logRate(firstEdge), firstEdge, -1);
+
+            // Relax layer by layer, only from assets reached on the previous layer
+            int[] frontier = {first};
+            int frontierSize = 1;
+            for (int hop = 1; hop < chainLength - 1 && frontierSize > 0; hop++) {
+                int[] next = new int[n];
+                int nextSize = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    int from = frontier[i];
+                    for (int k = 0; k < prefixes.count(hop, from); k++) {
+                        int prefix = prefixes.get(hop, from, k);
+                        for (int edge = graph.edgeStart(from); edge < graph.edgeEnd(from); edge++) {
+                            int to = graph.target(edge);
+                            if (to == base || !allowedAssets.get(to) || prefixes.contains(prefix, to)) {
+                                continue;
+                            }
+                            if ((++relaxations & (ScanBudget.POLL_INTERVAL - 1)) == 0 && budget.isExhausted()) {
+                                return collect(graph, base, top, chains);
+                            }
+                            boolean reached = prefixes.count(hop + 1, to) > 0;
+                            prefixes.offer(hop + 1, to, prefixes.weight(prefix) - graph.logRate(edge), edge, prefix);
+                            if (!reached && prefixes.count(hop + 1, to) > 0) {
+                                next[nextSize++] = to;
+                            }
+                        }
+                    }
+                }
+                frontier = next;
+                frontierSize = nextSize;
+            }
+
+            // Close cycles back into the base asset
+            int lastHop = chainLength - 1;
+            for (int i = 0; i < frontierSize; i++) {
+                int last = frontier[i];
+                for (int closingEdge = graph.edgeStart(last); closingEdge < graph.edgeEnd(last); closingEdge++) {
+                    if (graph.target(closingEdge) != base) {
+                        continue;
+                    }
+                    for (int k = 0; k < prefixes.count(lastHop, last); k++) {
+                        int prefix = prefixes.get(lastHop, last, k);
+                        double cycleWeight = prefixes.weight(prefix) - graph.logRate(closingEdge);
+                        if (cycleWeight <= maxWeight && -cycleWeight > top.threshold()) {
+                            prefixes.reconstruct(prefix, lastHop, closingEdge, path);
+                            top.offer(-cycleWeight, path);
+                        }
+                    }
+                }
+            }
+        }
+
+        return collect(graph, base, top, chains);
+    }
+
+    private List<ArbitrageChain> collect(TradingGraph graph, int base, TopCycles top, List<ArbitrageChain> chains) {
+        for (int[] cycle : top.sorted()) {
+            chains.add(ArbitrageChainFactory.chain(graph, base, cycle));
+        }
+        return chains;
+    }
+
+    /**
+     * Cheapest prefixes per (hop, asset) of the paths out of one first hop
+     *
+     * A prefix is stored as its weight, the edge into its last asset and the
+     * prefix it extends (-1 for the first hop), so paths are shared between
+     * layers. Prefixes of one (hop, asset) visit distinct asset sets, the most
+     * expensive one is replaced once the slots are taken.
+     */
+    private static final class Prefixes {
+
+        private final TradingGraph graph;
+        private final int[][] counts;
+        private final int[][] slots;
+        private double[] weights;
+        private int[] edges;
+        private int[] parents;
+        private int size;
+
+        Prefixes(TradingGraph graph, int chainLength, int assetCount) {
+            this.graph = graph;
+            this.counts = new int[chainLength][assetCount];
+            this.slots = new int[chainLength][assetCount * PREFIXES_PER_ASSET];
+            int capacity = Math.max(16, assetCount * chainLength);
+            this.weights = new double[capacity];
+            this.edges = new int[capacity];
+            this.parents = new int[capacity];
+        }
+
+        void clear() {
+            for (int[] layer : counts) {
+                Arrays.fill(layer, 0);
+            }
+            size = 0;
+        }
+
+        int count(int hop, int asset) {
+            return counts[hop][asset];
+        }
+
+        int get(int hop, int asset, int k) {
+            return slots[hop][asset * PREFIXES_PER_ASSET + k];
+        }
+
+        double weight(int prefix) {
+            return weights[prefix];
+        }
+
+        /**
+         * Keep path extended by edge into (hop, asset) if it is among the cheapest over distinct asset sets
+         */
+        void offer(int hop, int asset, double weight, int edge, int parent) {
+            int offset = asset * PREFIXES_PER_ASSET;
+            int count = counts[hop][asset];
+            int worst = -1;
+            for (int k = 0; k < count; k++) {
+                int prefix = slots[hop][offset + k];
+                if (sameAssets(parents[prefix], parent)) {
+                    if (weight < weights[prefix]) {
+                        set(prefix, weight, edge, parent);
+                    }
+                    return;
+                }
+                if (worst < 0 || weights[prefix] > weights[worst]) {
+                    worst = prefix;
+                }
+            }
+            if (count < PREFIXES_PER_ASSET) {
+                slots[hop][offset + count] = add(weight, edge, parent);
+                counts[hop][asset] = count + 1;
+            } else if (weight < weights[worst]) {
+                set(worst, weight, edge, parent);
+            }
+        }
+
+        /**
+         * Check whether asset lies on the path of prefix (base asset excluded)
+         */
+        boolean contains(int prefix, int asset) {
+            for (int p = prefix; p >= 0; p = parents[p]) {
+                if (graph.target(edges[p]) == asset) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Walk prefixes back to the base asset, filling cycle edge path
+         */
+        void reconstruct(int prefix, int lastHop, int closingEdge, int[] path) {
+            path[lastHop] = closingEdge;
+            int p = prefix;
+            for (int h = lastHop - 1; h >= 0; h--) {
+                path[h] = edges[p];
+                p = parents[p];
+            }
+        }
+
+        /**
+         * Paths of equal length visit the same assets when every asset of one lies on the other
+         */
+        private boolean sameAssets(int a, int b) {
+            for (int p = a; p >= 0; p = parents[p]) {
+                if (!contains(b, graph.target(edges[p]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int add(double weight, int edge, int parent) {
+            if (size == weights.length) {
+                weights = Arrays.copyOf(weights, size * 2);
+                edges = Arrays.copyOf(edges, size * 2);
+                parents = Arrays.copyOf(parents, size * 2);
+            }
+            set(size, weight, edge, parent);
+            return size++;
+        }
+
+        private void set(int prefix, double weight, int edge, int parent) {
+            weights[prefix] = weight;
+            edges[prefix] = edge;
+            parents[prefix] = parent;
+        }
+    }
+}
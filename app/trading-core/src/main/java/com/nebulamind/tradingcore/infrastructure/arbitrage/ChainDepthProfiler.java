@@ -0,0 +1,206 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.OrderBook;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ProfitPoint;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Order book depth profile of found chains
+ *
+ * Every step walks the book of its symbol: a buy spends the input on asks
+ * from the best price up, a sell hits bids from the best price down, and the
+ * taker fee is deducted from what the step receives. Each leg
+ * output is concave and non-decreasing in its input, so the chain output is
+ * concave too and absolute profit (output - input) has a single maximum,
+ * found with a ternary search between zero and the largest input all books
+ * can absorb.
+ *
+ * Books are fetched once per symbol per profiling call.
+ */
+@Slf4j
+final class ChainDepthProfiler {
+
+    private static final int CURVE_POINTS = 12;
+    private static final int SEARCH_ITERATIONS = 100;
+
+    private final ExchangeGateway exchangeGateway;
+    private final SymbolRegistry symbolRegistry;
+    private final int depthLevels;
+
+    /**
+     * @param depthLevels Book levels fetched per symbol (0 disables profiling)
+     */
+    ChainDepthProfiler(ExchangeGateway exchangeGateway, SymbolRegistry symbolRegistry, int depthLevels) {
+        this.exchangeGateway = exchangeGateway;
+        this.symbolRegistry = symbolRegistry;
+        this.depthLevels = depthLevels;
+    }
+
+    /**
+     * Attach profit curve, optimal size and max profit to every chain with known depth
+     */
+    void profile(Collection<ArbitrageChain> chains) {
+        if (depthLevels <= 0 || chains.isEmpty()) {
+            return;
+        }
+
+        Map<String, OrderBook> books = new HashMap<>();
+        for (ArbitrageChain chain : chains) {
+            Leg[] legs = legs(chain, books);
+            if (legs != null) {
+                profile(chain, legs);
+            }
+        }
+    }
+
+    static void profile(ArbitrageChain chain, Leg[] legs) {
+        double capacity = capacity(legs);
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<ProfitPoint> curve = new ArrayList<>(CURVE_POINTS);
+        for (int k = CURVE_POINTS - 1; k >= 0; k--) {
+            curve.add(point(legs, capacity / (1L << k)));
+        }
+
+        // Ternary search of concave profit over [0, capacity]
+        double low = 0.0;
+        double high = capacity;
+        for (int i = 0; i < SEARCH_ITERATIONS; i++) {
+            double left = low + (high - low) / 3;
+            double right = high - (high - low) / 3;
+            if (profit(legs, left) < profit(legs, right)) {
+                low = left;
+            } else {
+                high = right;
+            }
+        }
+        double optimal = (low + high) / 2;
+        double maxProfit = profit(legs, optimal);
+
+        chain.setProfitCurve(curve);
+        chain.setOptimalBaseAmount(maxProfit > 0 ? optimal : 0.0);
+        chain.setMaxProfit(Math.max(maxProfit, 0.0));
+    }
+
+    /**
+     * Book walk of every step, or null if a book is missing
+     */
+    private Leg[] legs(ArbitrageChain chain, Map<String, OrderBook> books) {
+        Leg[] legs = new Leg[chain.getSteps().size()];
+        for (int i = 0; i < legs.length; i++) {
+            ArbitrageStep step = chain.getSteps().get(i);
+            SymbolInfo info = symbolRegistry.find(step.getSymbol());
+            OrderBook book = books.computeIfAbsent(step.getSymbol(), this::fetch);
+            if (info == null || book == null) {
+                return null;
+            }
+            boolean buy = info.sideFor(step.getToAsset()) == Order.OrderSide.BUY;
+            legs[i] = Leg.of(buy ? book.getAsks() : book.getBids(), buy, info.getTakerFee());
+        }
+        return legs;
+    }
+
+    private OrderBook fetch(String symbol) {
+        try {
+            return exchangeGateway.getOrderBook(symbol, depthLevels);
+        } catch (Exception e) {
+            log.warn("Failed to get order book for {}: {}", symbol, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ProfitPoint point(Leg[] legs, double amount) {
+        double profit = profit(legs, amount);
+        return ProfitPoint.builder()
+                .baseAmount(amount)
+                .profit(profit)
+                .profitPercent(profit / amount * 100.0)
+                .build();
+    }
+
+    private static double profit(Leg[] legs, double amount) {
+        return output(legs, amount) - amount;
+    }
+
+    /**
+     * Chain output for input amount, NaN if a book cannot absorb it
+     */
+    private static double output(Leg[] legs, double amount) {
+        for (Leg leg : legs) {
+            amount = leg.fill(amount);
+        }
+        return amount;
+    }
+
+    /**
+     * Largest input every book along the chain can absorb
+     */
+    private static double capacity(Leg[] legs) {
+        double low = 0.0;
+        double high = legs[0].capacity();
+        if (!Double.isNaN(output(legs, high))) {
+            return high;
+        }
+        for (int i = 0; i < SEARCH_ITERATIONS; i++) {
+            double mid = (low + high) / 2;
+            if (Double.isNaN(output(legs, mid))) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * One side of a book as seen by a step: levels best first
+     */
+    record Leg(boolean buy, double feeFactor, double[] prices, double[] quantities) {
+
+        static Leg of(List<OrderBook.Level> levels, boolean buy, double fee) {
+            List<OrderBook.Level> side = levels != null ? levels : List.of();
+            double[] prices = new double[side.size()];
+            double[] quantities = new double[side.size()];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = side.get(i).getPrice();
+                quantities[i] = side.get(i).getQuantity();
+            }
+            return new Leg(buy, 1.0 - fee, prices, quantities);
+        }
+
+        /**
+         * Max input, quote units for a buy and base units for a sell
+         */
+        double capacity() {
+            double total = 0.0;
+            for (int i = 0; i < prices.length; i++) {
+                total += buy ? prices[i] * quantities[i] : quantities[i];
+            }
+            return total;
+        }
+
+        /**
+         * Output after fee of trading input amount through the levels, NaN if they run out
+         */
+        double fill(double amount) {
+            double out = 0.0;
+            for (int i = 0; i < prices.length && amount > 0; i++) {
+                double available = buy ? prices[i] * quantities[i] : quantities[i];
+                double taken = Math.min(amount, available);
+                out += buy ? taken / prices[i] : taken * prices[i];
+                amount -= taken;
+            }
+            return amount > 0 ? Double.NaN : out * feeFactor;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Precomputed cycles for one (base asset, chain length, asset set) of a trading graph topology
+ *
+ * Cycles are stored as struct of arrays: one edge column per chain position
+ * (column k holds the k-th edge of every cycle) next to the current log-profit
+ * of every cycle (sum of edge log-rates). A reverse index maps every symbol
+ * used by the catalog to the cycles that trade it, so a few price moves only
+ * recompute the affected cycles. When most cycles are affected (a new market
+ * snapshot usually moves every price) all cycles are re-evaluated in bulk by
+ * the CycleEvaluator, column by column against the edge log-rate array.
+ * Reading the profitable set is a linear scan over one double array.
+ *
+ * Not thread-safe, callers synchronize on the catalog.
+ */
+final class CycleCatalog {
+
+    /**
+     * Catalog identity within one graph topology
+     */
+    record Key(int baseAsset, int chainLength, BitSet assets) {
+    }
+
+    private final int chainLength;
+    private final int cycleCount;
+    private final int[][] edgeColumns;
+    private final double[] logProfits;
+    private final CycleEvaluator evaluator;
+
+    // Reverse index over symbols used by catalog (local symbol index -> cycle ids)
+    private final int[] symbolIds;
+    private final double[] lastBids;
+    private final double[] lastAsks;
+    private final int[][] cyclesBySymbol;
+    private final int[] changedSymbols;
+
+    private CycleCatalog(TradingGraph graph, int chainLength, int[] cycleEdges, CycleEvaluator evaluator) {
+        this.chainLength = chainLength;
+        this.cycleCount = cycleEdges.length / chainLength;
+        this.logProfits = new double[cycleCount];
+        this.evaluator = evaluator;
+
+        // Row-major enumeration output to one column per chain position
+        this.edgeColumns = new int[chainLength][cycleCount];
+        for (int c = 0; c < cycleCount; c++) {
+            for (int k = 0; k < chainLength; k++) {
+                edgeColumns[k][c] = cycleEdges[c * chainLength + k];
+            }
+        }
+
+        // Local index of every symbol appearing in catalog
+        int[] localIndex = new int[graph.symbolCount()];
+        Arrays.fill(localIndex, -1);
+        int[] symbols = new int[graph.symbolCount()];
+        int symbolCount = 0;
+        int[] usage = new int[graph.symbolCount()];
+        for (int c = 0; c < cycleCount; c++) {
+            for (int k = 0; k < chainLength; k++) {
+                int sym = graph.symbolId(edgeColumns[k][c]);
+                if (localIndex[sym] < 0) {
+                    localIndex[sym] = symbolCount;
+                    symbols[symbolCount++] = sym;
+                }
+            }
+        }
+
+        // Count then fill cycles per symbol (a cycle using a symbol twice is listed once)
+        int[] lastCycle = new int[symbolCount];
+        Arrays.fill(lastCycle, -1);
+        for (int c = 0; c < cycleCount; c++) {
+            for (int k = 0; k < chainLength; k++) {
+                int local = localIndex[graph.symbolId(edgeColumns[k][c])];
+                if (lastCycle[local] != c) {
+                    lastCycle[local] = c;
+                    usage[local]++;
+                }
+            }
+        }
+        this.cyclesBySymbol = new int[symbolCount][];
+        for (int i = 0; i < symbolCount; i++) {
+            cyclesBySymbol[i] = new int[usage[i]];
+            usage[i] = 0;
+        }
+        Arrays.fill(lastCycle, -1);
+        for (int c = 0; c < cycleCount; c++) {
+            for (int k = 0; k < chainLength; k++) {
+                int local = localIndex[graph.symbolId(edgeColumns[k][c])];
+                if (lastCycle[local] != c) {
+                    lastCycle[local] = c;
+                    cyclesBySymbol[local][usage[local]++] = c;
+                }
+            }
+        }
+
+        this.symbolIds = Arrays.copyOf(symbols, symbolCount);
+        this.changedSymbols = new int[symbolCount];
+        this.lastBids = new double[symbolCount];
+        this.lastAsks = new double[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            lastBids[i] = graph.bid(symbolIds[i]);
+            lastAsks[i] = graph.ask(symbolIds[i]);
+        }
+        if (cycleCount > 0) {
+            evaluator.evaluate(edgeColumns, cycleCount, graph.logRates(), logProfits);
+        }
+    }
+
+    /**
+     * Enumerate all simple cycles through base asset
+     *
+     * @param maxCycles Upper bound of catalog size
+     * @param evaluator Bulk evaluation of all cycles
+     * @return Catalog or null if topology has more than maxCycles cycles
+     */
+    static CycleCatalog build(TradingGraph graph, Key key, int maxCycles, CycleEvaluator evaluator) {
+        Enumerator enumerator = new Enumerator(graph, key, maxCycles);
+        if (!enumerator.run()) {
+            return null;
+        }
+        return new CycleCatalog(graph, key.chainLength(), Arrays.copyOf(enumerator.edges, enumerator.size), evaluator);
+    }
+
+    int size() {
+        return cycleCount;
+    }
+
+    /**
+     * Recompute cycles of symbols whose price changed since last sync
+     *
+     * Falls back to bulk evaluation of all cycles once the changed symbols
+     * touch at least half of them.
+     *
+     * @return Number of re-evaluated cycles
+     */
+    int sync(TradingGraph graph) {
+        int changed = 0;
+        long touched = 0;
+        for (int i = 0; i < symbolIds.length; i++) {
+            double bid = graph.bid(symbolIds[i]);
+            double ask = graph.ask(symbolIds[i]);
+            if (bid != lastBids[i] || ask != lastAsks[i]) {
+                lastBids[i] = bid;
+                lastAsks[i] = ask;
+                changedSymbols[changed++] = i;
+                touched += cyclesBySymbol[i].length;
+            }
+        }
+        if (touched > 0 && touched * 2 >= cycleCount) {
+            evaluator.evaluate(edgeColumns, cycleCount, graph.logRates(), logProfits);
+            return cycleCount;
+        }
+
+        int evaluated = 0;
+        for (int j = 0; j < changed; j++) {
+            for (int c : cyclesBySymbol[changedSymbols[j]]) {
+                evaluate(graph, c);
+                evaluated++;
+            }
+        }
+        return evaluated;
+    }
+
+    /**
+     * Offer cycles with log-profit of at least minLogProfit, payload is the cycle id
+     */
+    void collect(double minLogProfit, TopCycles top) {
+        int[] cycle = new int[1];
+        for (int c = 0; c < cycleCount; c++) {
+            if (logProfits[c] >= minLogProfit) {
+                cycle[0] = c;
+                top.offer(logProfits[c], cycle);
+            }
+        }
+    }
+
+    /**
+     * Edge of cycle at position
+     */
+    int edge(int cycle, int position) {
+        return edgeColumns[position][cycle];
+    }
+
+    double logProfit(int cycle) {
+        return logProfits[cycle];
+    }
+
+    private void evaluate(TradingGraph graph, int cycle) {
+        double sum = graph.logRate(edgeColumns[0][cycle]);
+        for (int k = 1; k < chainLength; k++) {
+            sum += graph.logRate(edgeColumns[k][cycle]);
+        }
+        logProfits[cycle] = sum;
+    }
+
+    /**
+     * Depth-first enumeration of cycle edge paths
+     */
+    private static final class Enumerator {
+        private final TradingGraph graph;
+        private final int base;
+        private final int chainLength;
+        private final BitSet allowed;
+        private final int maxCycles;
+        private final BitSet visited;
+        private final int[] path;
+        private int[] edges = new int[64];
+        private int size;
+        private boolean overflow;
+
+        Enumerator(TradingGraph graph, Key key, int maxCycles) {
+            this.graph = graph;
+            this.base = key.baseAsset();
+            this.chainLength = key.chainLength();
+            this.allowed = key.assets();
+            this.maxCycles = maxCycles;
+            this.visited = new BitSet(graph.assetCount());
+            this.path = new int[chainLength];
+        }
+
+        boolean run() {
+            if (base >= 0 && chainLength > 0) {
+                visit(base, 0);
+            }
+            return !overflow;
+        }
+
+        private void visit(int current, int depth) {
+            if (depth == chainLength) {
+                if (current == base) {
+                    if (size / chainLength >= maxCycles) {
+                        overflow = true;
+                        return;
+                    }
+                    if (size + chainLength > edges.length) {
+                        edges = Arrays.copyOf(edges, edges.length * 2);
+                    }
+                    System.arraycopy(path, 0, edges, size, chainLength);
+                    size += chainLength;
+                }
+                return;
+            }
+
+            int remaining = chainLength - depth;
+            visited.set(current);
+            for (int e = graph.edgeStart(current); e < graph.edgeEnd(current) && !overflow; e++) {
+                int next = graph.target(e);
+                if (!allowed.get(next) || (remaining > 1 && visited.get(next))) {
+                    continue;
+                }
+                path[depth] = e;
+                visit(next, depth + 1);
+            }
+            visited.clear(current);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+/**
+ * Bulk evaluation of cycle log-profits over struct-of-arrays cycle storage
+ *
+ * Column k holds the k-th edge of every cycle, so the log-profit of cycle c is
+ * the sum of {@code logRates[columns[k][c]]} over all columns. Implementations
+ * add columns in order starting from column 0, results are bit-identical.
+ */
+interface CycleEvaluator {
+
+    /**
+     * @param columns    Edge columns, {@code columns[k][c]} is edge k of cycle c
+     * @param cycleCount Number of cycles to evaluate (prefix of every column)
+     * @param logRates   Log-rates indexed by edge id
+     * @param out        Log-profit of every cycle
+     */
+    void evaluate(int[][] columns, int cycleCount, double[] logRates, double[] out);
+
+    /**
+     * Load the Vector API evaluator by name, it is only built with the vector profile
+     *
+     * @return Vector evaluator, null when it was not built or jdk.incubator.vector is not resolved
+     */
+    static CycleEvaluator vector() {
+        try {
+            return (CycleEvaluator) Class.forName(CycleEvaluator.class.getPackageName() + ".VectorCycleEvaluator")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived trading graph owned by an arbitrage analyzer
+ *
+ * Topology (assets, pairs, CSR layout) is built once and only rebuilt when the
+ * pair list of the market snapshot changes. Between rebuilds a refresh with a
+ * new snapshot version only reprices the shared topology, so a scan pays for
+ * the search and not for re-parsing symbols and reallocating the graph.
+ *
+ * Every returned graph is priced from exactly one snapshot and never changes,
+ * scans running concurrently with a refresh keep their own coherent view.
+ *
+ * 24h volumes used for liquidity ranking move slowly and are reloaded at most
+ * once per volume refresh interval.
+ */
+@Slf4j
+final class LiveTradingGraph {
+
+    private final ExchangeGateway exchangeGateway;
+    private final SymbolRegistry symbolRegistry;
+
+    private TradingGraph graph;
+    private List<String> pairs = List.of();
+    private Set<String> pairSet = Set.of();
+    private long topologyVersion;
+    private final long volumeRefreshNanos;
+    private long volumesLoadedAt;
+
+    /**
+     * @param volumeRefreshSeconds Min age of 24h volumes before they are reloaded (0 = every refresh)
+     */
+    LiveTradingGraph(ExchangeGateway exchangeGateway, SymbolRegistry symbolRegistry, long volumeRefreshSeconds) {
+        this.exchangeGateway = exchangeGateway;
+        this.symbolRegistry = symbolRegistry;
+        this.volumeRefreshNanos = TimeUnit.SECONDS.toNanos(volumeRefreshSeconds);
+    }
+
+    /**
+     * Bring graph up to date with the current market snapshot and return it
+     */
+    synchronized TradingGraph refresh() {
+        MarketSnapshot snapshot = exchangeGateway.getMarketSnapshot();
+        List<String> currentPairs = snapshot.getSymbols();
+
+        if (graph == null || !isSameTopology(currentPairs)) {
+            rebuild(currentPairs, snapshot);
+            return graph;
+        }
+
+        if (snapshot.getVersion() != graph.snapshotVersion()) {
+            graph = graph.withPrices(snapshot);
+            log.debug("Repriced trading graph from snapshot {}", snapshot.getVersion());
+        }
+
+        if (System.nanoTime() - volumesLoadedAt >= volumeRefreshNanos) {
+            graph.updateQuoteVolumes(exchangeGateway);
+            volumesLoadedAt = System.nanoTime();
+            log.debug("Reloaded 24h volumes of {} symbols", graph.symbolCount());
+        }
+
+        return graph;
+    }
+
+    private boolean isSameTopology(List<String> currentPairs) {
+        return currentPairs.equals(pairs) || pairSet.equals(new HashSet<>(currentPairs));
+    }
+
+    private void rebuild(List<String> currentPairs, MarketSnapshot snapshot) {
+        pairs = List.copyOf(currentPairs);
+        pairSet = Set.copyOf(currentPairs);
+        // Newly listed pairs need their metadata before they can become edges
+        symbolRegistry.reloadIfMissing(pairs);
+        graph = TradingGraph.build(exchangeGateway, symbolRegistry, snapshot);
+        volumesLoadedAt = System.nanoTime();
+        topologyVersion++;
+        log.info("Trading graph topology rebuilt (version {})", topologyVersion);
+    }
+}
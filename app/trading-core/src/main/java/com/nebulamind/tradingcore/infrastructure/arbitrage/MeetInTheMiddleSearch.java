@@ -0,0 +1,320 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Meet-in-the-middle search for simple cycles through one start asset
+ *
+ * A cycle of length L is split into a forward half of ceil(L/2) edges leaving
+ * the start asset and a backward half of floor(L/2) edges returning to it.
+ * Both halves are enumerated once (O(d^(L/2)) each instead of O(d^L) for the
+ * full path), grouped by the midpoint asset where they meet, and joined.
+ *
+ * Interior assets of every half are kept as a 64-bit mask over the allowed
+ * universe, so the simple-cycle check of a join is one AND. Backward halves
+ * are sorted by log-rate sum, which lets a join stop at the first backward
+ * half that cannot reach the profit threshold.
+ */
+final class MeetInTheMiddleSearch {
+
+    private final TradingGraph graph;
+    private final int startAsset;
+    private final int targetLength;
+    private final int forwardLength;
+    private final int backwardLength;
+    private final double minLogProfit;
+    private final double[][] bestRemaining;
+
+    // Allowed assets except the start asset, local index = bit of interior masks
+    private final int[] localIndex;
+    private final int[] assets;
+
+    // Allowed incoming edges of every asset
+    private final int[][] incoming;
+
+    private final HalfPaths[] forward;
+    private final HalfPaths[] backward;
+
+    // Scan budget polled while enumerating halves and joining them
+    private ScanBudget budget = ScanBudget.unlimited();
+    private int visits;
+    private boolean exhausted;
+
+    /**
+     * @param bestRemaining Walk bounds from {@code bestRemaining[k][a]} of the per-scan search
+     */
+    MeetInTheMiddleSearch(
+            TradingGraph graph,
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength,
+            double minLogProfit,
+            double[][] bestRemaining
+    ) {
+        this.graph = graph;
+        this.startAsset = startAsset;
+        this.targetLength = targetLength;
+        this.forwardLength = targetLength - targetLength / 2;
+        this.backwardLength = targetLength / 2;
+        this.minLogProfit = minLogProfit;
+        this.bestRemaining = bestRemaining;
+
+        this.localIndex = new int[graph.assetCount()];
+        Arrays.fill(localIndex, -1);
+        int count = 0;
+        int[] locals = new int[Long.SIZE];
+        for (int a = allowedAssets.nextSetBit(0); a >= 0; a = allowedAssets.nextSetBit(a + 1)) {
+            if (a != startAsset) {
+                localIndex[a] = count;
+                locals[count++] = a;
+            }
+        }
+        this.assets = Arrays.copyOf(locals, count);
+
+        int[] inDegree = new int[graph.assetCount()];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            if (isAllowed(graph.source(e)) && isAllowed(graph.target(e))) {
+                inDegree[graph.target(e)]++;
+            }
+        }
+        this.incoming = new int[graph.assetCount()][];
+        for (int a = 0; a < graph.assetCount(); a++) {
+            incoming[a] = new int[inDegree[a]];
+            inDegree[a] = 0;
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            if (isAllowed(graph.source(e)) && isAllowed(graph.target(e))) {
+                incoming[graph.target(e)][inDegree[graph.target(e)]++] = e;
+            }
+        }
+
+        this.forward = new HalfPaths[count];
+        this.backward = new HalfPaths[count];
+        for (int i = 0; i < count; i++) {
+            forward[i] = new HalfPaths(forwardLength);
+            backward[i] = new HalfPaths(backwardLength);
+        }
+    }
+
+    /**
+     * Whether interior assets of the universe fit into a 64-bit mask
+     */
+    static boolean supports(BitSet allowedAssets, int startAsset) {
+        int interior = allowedAssets.cardinality() - (allowedAssets.get(startAsset) ? 1 : 0);
+        return interior <= Long.SIZE;
+    }
+
+    /**
+     * Enumerate both halves and join them per midpoint
+     *
+     * Once the budget is spent, enumeration stops and joins keep the cycles
+     * found until then.
+     *
+     * @return Best cycle edge paths with log-profit of at least minLogProfit
+     */
+    TopCycles run(ForkJoinPool pool, int limit, ScanBudget budget) {
+        if (targetLength < 2) {
+            return new TopCycles(limit, targetLength);
+        }
+        this.budget = budget;
+
+        // Backward halves first, their best sum per midpoint bounds the forward enumeration
+        walkBackward(startAsset, backwardLength, new int[backwardLength], 0L, 0.0);
+        double[] bestBackward = new double[assets.length];
+        for (int i = 0; i < assets.length; i++) {
+            backward[i].sortBySumDescending();
+            bestBackward[i] = backward[i].size > 0 ? backward[i].sums[backward[i].order[0]] : Double.NEGATIVE_INFINITY;
+        }
+        walkForward(startAsset, 0, new int[forwardLength], 0L, 0.0, bestBackward);
+
+        List<Join> joins = new ArrayList<>();
+        for (int i = 0; i < assets.length; i++) {
+            if (forward[i].size > 0 && backward[i].size > 0) {
+                joins.add(new Join(i, limit));
+            }
+        }
+        if (joins.size() > 1 && pool.getParallelism() > 1) {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(joins);
+                }
+            });
+        } else {
+            joins.forEach(ForkJoinTask::invoke);
+        }
+
+        // Merge in midpoint order, identical output for any parallelism level
+        TopCycles top = new TopCycles(limit, targetLength);
+        for (Join join : joins) {
+            top.addAll(join.join());
+        }
+        return top;
+    }
+
+    private boolean isAllowed(int asset) {
+        return asset == startAsset || localIndex[asset] >= 0;
+    }
+
+    /**
+     * Extend backward half from its first asset towards the midpoint
+     *
+     * @param path Edges filled from the end, path[remaining..] is the suffix into the start asset
+     */
+    private void walkBackward(int current, int remaining, int[] path, long interior, double logSum) {
+        if (isExhausted()) {
+            return;
+        }
+        if (remaining == 0) {
+            int mid = localIndex[current];
+            if (mid >= 0 && (interior & (1L << mid)) == 0) {
+                backward[mid].add(path, interior, logSum);
+            }
+            return;
+        }
+
+        // The first asset of the half becomes an interior asset of the cycle (unless it is the start)
+        long withCurrent = current == startAsset ? interior : interior | (1L << localIndex[current]);
+        for (int edge : incoming[current]) {
+            int previous = graph.source(edge);
+            if (previous == startAsset) {
+                continue;
+            }
+            int bit = localIndex[previous];
+            if (remaining > 1 && (withCurrent & (1L << bit)) != 0) {
+                continue;
+            }
+            path[remaining - 1] = edge;
+            walkBackward(previous, remaining - 1, path, withCurrent, logSum + graph.logRate(edge));
+        }
+    }
+
+    private void walkForward(int current, int depth, int[] path, long interior, double logSum, double[] bestBackward) {
+        if (isExhausted()) {
+            return;
+        }
+        if (depth == forwardLength) {
+            int mid = localIndex[current];
+            if (logSum + bestBackward[mid] >= minLogProfit) {
+                forward[mid].add(path, interior, logSum);
+            }
+            return;
+        }
+
+        // Prune: no walk of the remaining length back to the start reaches min profit
+        if (logSum + bestRemaining[targetLength - depth][current] < minLogProfit) {
+            return;
+        }
+
+        int end = graph.edgeEnd(current);
+        for (int edge = graph.edgeStart(current); edge < end; edge++) {
+            int next = graph.target(edge);
+            int bit = next == startAsset ? -1 : localIndex[next];
+            if (bit < 0 || (interior & (1L << bit)) != 0) {
+                continue;
+            }
+            path[depth] = edge;
+            walkForward(next, depth + 1, path, interior | (1L << bit), logSum + graph.logRate(edge), bestBackward);
+        }
+    }
+
+    /**
+     * Poll budget every few thousand enumerated nodes (enumeration is single-threaded)
+     */
+    private boolean isExhausted() {
+        if (!exhausted && (++visits & (ScanBudget.POLL_INTERVAL - 1)) == 0) {
+            exhausted = budget.isExhausted();
+        }
+        return exhausted;
+    }
+
+    /**
+     * Join of all forward and backward halves meeting at one midpoint
+     */
+    private final class Join extends RecursiveTask<TopCycles> {
+        private final int mid;
+        private final TopCycles result;
+
+        Join(int mid, int limit) {
+            this.mid = mid;
+            this.result = new TopCycles(limit, targetLength);
+        }
+
+        @Override
+        protected TopCycles compute() {
+            HalfPaths in = forward[mid];
+            HalfPaths out = backward[mid];
+            int[] path = new int[targetLength];
+            for (int f = 0; f < in.size; f++) {
+                if ((f & (ScanBudget.POLL_INTERVAL - 1)) == 0 && budget.isExhausted()) {
+                    break;
+                }
+                double forwardSum = in.sums[f];
+                long forwardMask = in.masks[f];
+                for (int k = 0; k < out.size; k++) {
+                    int b = out.order[k];
+                    double sum = forwardSum + out.sums[b];
+                    // Backward halves are sorted, no later one can do better
+                    if (sum < Math.max(minLogProfit, result.threshold())) {
+                        break;
+                    }
+                    if ((forwardMask & out.masks[b]) != 0) {
+                        continue;
+                    }
+                    System.arraycopy(in.edges, f * forwardLength, path, 0, forwardLength);
+                    System.arraycopy(out.edges, b * backwardLength, path, forwardLength, backwardLength);
+                    result.offer(sum, path);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Growable primitive storage of half paths meeting at one midpoint
+     */
+    private static final class HalfPaths {
+        private final int width;
+        private int size;
+        private int[] edges;
+        private double[] sums;
+        private long[] masks;
+        private int[] order;
+
+        HalfPaths(int width) {
+            this.width = width;
+            this.edges = new int[4 * width];
+            this.sums = new double[4];
+            this.masks = new long[4];
+        }
+
+        void add(int[] path, long mask, double sum) {
+            if (size == sums.length) {
+                int capacity = size * 2;
+                edges = Arrays.copyOf(edges, capacity * width);
+                sums = Arrays.copyOf(sums, capacity);
+                masks = Arrays.copyOf(masks, capacity);
+            }
+            System.arraycopy(path, 0, edges, size * width, width);
+            sums[size] = sum;
+            masks[size] = mask;
+            size++;
+        }
+
+        void sortBySumDescending() {
+            order = IntStream.range(0, size)
+                    .boxed()
+                    .sorted((a, b) -> Double.compare(sums[b], sums[a]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Minimum base amount a chain can be executed with
+ *
+ * Every step needs an order quantity of at least minQty, rounded up to the
+ * lot step, and an order value of at least minNotional. One backward pass
+ * carries the requirement of the remaining steps to the input of each step
+ * (dividing by the step rate) and keeps the larger of that and the step's own
+ * requirement, O(L) per chain.
+ *
+ * Results for analyzer chains are cached per chain path and snapshot version;
+ * only the latest snapshot version is kept.
+ */
+public final class MinAmountCalculator {
+
+    private record Key(String chainId, String baseAsset, long snapshotVersion) {
+    }
+
+    private final SymbolRegistry symbolRegistry;
+    private final Map<Key, Double> cache = new ConcurrentHashMap<>();
+    private volatile long cachedVersion = Long.MIN_VALUE;
+
+    MinAmountCalculator(SymbolRegistry symbolRegistry) {
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    /**
+     * Set min required base amount of every chain, reusing results of the same snapshot
+     */
+    void apply(Collection<ArbitrageChain> chains) {
+        for (ArbitrageChain chain : chains) {
+            long version = chain.getSnapshotVersion();
+            if (version > cachedVersion) {
+                synchronized (cache) {
+                    if (version > cachedVersion) {
+                        cache.clear();
+                        cachedVersion = version;
+                    }
+                }
+            }
+            double required = version == cachedVersion
+                    ? cache.computeIfAbsent(new Key(chain.getId(), chain.getBaseAsset(), version),
+                            key -> minRequiredAmount(chain.getSteps(), symbolRegistry))
+                    : minRequiredAmount(chain.getSteps(), symbolRegistry);
+            chain.setMinRequiredBaseAmount(required);
+        }
+    }
+
+    /**
+     * Backward pass over steps in trading order
+     *
+     * @return Min amount of the first step's input asset
+     */
+    public static double minRequiredAmount(List<ArbitrageStep> steps, SymbolRegistry symbolRegistry) {
+        double required = 0.0;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            ArbitrageStep step = steps.get(i);
+            SymbolInfo info = symbolRegistry.require(step.getSymbol());
+            boolean isBuy = info.sideFor(step.getToAsset()) == Order.OrderSide.BUY;
+
+            // Price of base in quote before fee
+            double price = isBuy ? 1.0 / step.grossRate() : step.grossRate();
+            double minQty = Math.max(info.getMinQty(), info.getMinNotional() / price);
+            if (info.getStepSize() > 0) {
+                minQty = Math.ceil(minQty / info.getStepSize() - 1e-9) * info.getStepSize();
+            }
+
+            // BUY spends quote (quantity * price), SELL spends the quantity itself
+            double ownInput = isBuy ? minQty * price : minQty;
+            required = Math.max(ownInput, required / step.getRate());
+        }
+        return required;
+    }
+}
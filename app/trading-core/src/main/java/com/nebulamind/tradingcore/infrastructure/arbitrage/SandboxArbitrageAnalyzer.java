@@ -1,50 +1,152 @@
 package com.nebulamind.tradingcore.infrastructure.arbitrage;
 
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
-import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
 import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
 import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
-import lombok.RequiredArgsConstructor;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Real implementation of ArbitrageAnalyzer for sandbox
  * 
  * Uses graph-based algorithm to find profitable arbitrage cycles
+ * (default engine, nebulamind.arbitrage.engine=dfs)
  */
 @Component
-@ConditionalOnProperty(name = "nebulamind.exchange.type", havingValue = "sandbox")
-@RequiredArgsConstructor
+@ConditionalOnExpression("'${nebulamind.exchange.type:}' == 'sandbox' and '${nebulamind.arbitrage.engine:dfs}' == 'dfs'")
 @Slf4j
 public class SandboxArbitrageAnalyzer implements ArbitrageAnalyzer {
     
+    private static final int MAX_CATALOGS = 32;
+    
     private final ExchangeGateway exchangeGateway;
+    private final LiveTradingGraph tradingGraph;
+    private final ChainDepthProfiler depthProfiler;
+    private final MinAmountCalculator minAmountCalculator;
+    private final int catalogMaxCycles;
+    private final CycleEvaluator cycleEvaluator;
+    private final int meetInTheMiddleMinLength;
+    
+    // Cycle catalogs of current graph topology, possibly still being built
+    // (empty when the universe is too large for a catalog)
+    private final Map<CycleCatalog.Key, CompletableFuture<Optional<CycleCatalog>>> catalogs =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CycleCatalog.Key, CompletableFuture<Optional<CycleCatalog>>> eldest) {
+                    return size() > MAX_CATALOGS;
+                }
+            };
+    private TradingGraph catalogGraph;
+    
+    // Neighbourhood masks of current graph topology for triangular chains
+    private TriangleDetector triangleDetector;
+    private TradingGraph triangleGraph;
+    
+    // Pool for per-scan cycle search, one task per first-hop edge
+    private final ForkJoinPool searchPool;
+    
+    public SandboxArbitrageAnalyzer(
+            ExchangeGateway exchangeGateway,
+            SymbolRegistry symbolRegistry,
+            NebulaMindProperties properties
+    ) {
+        this.exchangeGateway = exchangeGateway;
+        this.tradingGraph = new LiveTradingGraph(exchangeGateway, symbolRegistry, properties.getArbitrage().getVolumeRefreshSeconds());
+        this.depthProfiler = new ChainDepthProfiler(exchangeGateway, symbolRegistry, properties.getArbitrage().getDepthLevels());
+        this.minAmountCalculator = new MinAmountCalculator(symbolRegistry);
+        this.catalogMaxCycles = properties.getArbitrage().getCatalogMaxCycles();
+        this.cycleEvaluator = properties.getArbitrage().isVectorEvaluation() ? vectorEvaluator() : new ScalarCycleEvaluator();
+        this.meetInTheMiddleMinLength = properties.getArbitrage().getMeetInTheMiddleMinLength();
+        
+        int parallelism = properties.getArbitrage().getSearchParallelism();
+        this.searchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Vector API evaluator, scalar one when it is not built or the incubator module is not resolved
+     */
+    private static CycleEvaluator vectorEvaluator() {
+        CycleEvaluator evaluator = CycleEvaluator.vector();
+        if (evaluator == null) {
+            log.warn("Vector API not available (build with -Pvector, start with --add-modules jdk.incubator.vector), using scalar cycle evaluation");
+            return new ScalarCycleEvaluator();
+        }
+        log.info("Using vectorized cycle evaluation");
+        return evaluator;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdown();
+    }
     
     @Override
     public List<ArbitrageChain> findArbitrageOpportunities(
             String baseAsset,
             int maxAssets,
             int chainLength,
-            double minProfitPercent
+            double minProfitPercent,
+            int limit
     ) {
-        log.info("Finding arbitrage opportunities: baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%",
-                baseAsset, maxAssets, chainLength, minProfitPercent);
+        return scanArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, limit, null).getChains();
+    }
+    
+    /**
+     * Anytime scan: per-scan searches explore best-rate edges first and, once
+     * the deadline (if any) passes or a newer market snapshot supersedes the
+     * scanned one, stop and return the best chains found so far. Triangles and
+     * catalog cycles are single linear passes and always complete. Building a
+     * missing catalog is not covered by the deadline either: the first scan of
+     * a universe enumerates its cycles in full, the catalog outlives the scan.
+     */
+    @Override
+    public ArbitrageScan scanArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            Instant deadline
+    ) {
+        log.info("Finding arbitrage opportunities: baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%, limit={}, deadline={}",
+                baseAsset, maxAssets, chainLength, minProfitPercent, limit, deadline);
         
-        // Build trading graph
-        TradingGraph graph = buildTradingGraph();
+        // Refresh long-lived trading graph
+        TradingGraph graph = tradingGraph.refresh();
+        int base = graph.assetId(baseAsset);
+        ScanBudget budget = ScanBudget.until(deadline, graph.snapshotVersion(), exchangeGateway::getMarketVersion);
         
         // Find top N most liquid assets
-        Set<String> selectedAssets = selectTopAssets(graph, baseAsset, maxAssets);
-        log.info("Selected {} assets for analysis: {}", selectedAssets.size(), selectedAssets);
+        BitSet selectedAssets = graph.selectTopAssets(base, maxAssets, chainLength);
+        log.info("Selected {} assets for analysis: {}", selectedAssets.cardinality(), graph.assetNames(selectedAssets));
         
-        // Find all cycles of specified length starting from base asset
-        List<ArbitrageChain> allChains = findCycles(graph, baseAsset, selectedAssets, chainLength);
+        // Find all cycles of specified length starting from base asset,
+        // from the precomputed catalog when the universe is small enough
+        List<ArbitrageChain> allChains = new ArrayList<>();
+        if (base >= 0) {
+            for (int[] path : searchCycles(graph, base, selectedAssets, chainLength, minProfitPercent, limit, budget)) {
+                allChains.add(ArbitrageChainFactory.chain(graph, base, path));
+            }
+        }
+        if (budget.reason() != null) {
+            log.info("Scan cut short ({}), keeping best {} chains found so far", budget.reason(), allChains.size());
+        }
         log.info("Found {} potential chains", allChains.size());
         
         // Filter profitable chains
@@ -53,9 +155,165 @@ public class SandboxArbitrageAnalyzer implements ArbitrageAnalyzer {
                 .sorted(Comparator.comparingDouble(ArbitrageChain::getProfitPercent).reversed())
                 .collect(Collectors.toList());
         
+        minAmountCalculator.apply(profitableChains);
+        depthProfiler.profile(profitableChains);
         log.info("Found {} profitable chains (>{}%)", profitableChains.size(), minProfitPercent);
         
-        return profitableChains;
+        return ArbitrageScan.builder()
+                .chains(profitableChains)
+                .snapshotVersion(graph.snapshotVersion())
+                .complete(budget.reason() == null)
+                .build();
+    }
+    
+    /**
+     * Stream chains while the search runs
+     * 
+     * Triangles and catalog cycles are read in one pass and streamed as they
+     * come out. Longer chains without a catalog are enumerated depth first
+     * (also when meet in the middle is enabled, which only yields cycles after
+     * all half paths are built) and every qualifying cycle is passed on from
+     * the search task that found it.
+     */
+    @Override
+    public void streamArbitrageOpportunities(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            ChainListener listener
+    ) {
+        log.info("Streaming arbitrage opportunities: baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%",
+                baseAsset, maxAssets, chainLength, minProfitPercent);
+        
+        TradingGraph graph = tradingGraph.refresh();
+        int base = graph.assetId(baseAsset);
+        if (base < 0 || chainLength < 1) {
+            return;
+        }
+        BitSet selectedAssets = graph.selectTopAssets(base, maxAssets, chainLength);
+        
+        AtomicInteger streamed = new AtomicInteger();
+        ScanBudget budget = ScanBudget.unlimited();
+        CycleSink sink = path -> {
+            ArbitrageChain chain = ArbitrageChainFactory.chain(graph, base, path);
+            if (chain.getProfitPercent() < minProfitPercent) {
+                return true;
+            }
+            minAmountCalculator.apply(List.of(chain));
+            streamed.incrementAndGet();
+            if (!listener.onChain(chain)) {
+                budget.stop();
+                return false;
+            }
+            return true;
+        };
+        
+        if (chainLength == 3 || catalogFor(graph, new CycleCatalog.Key(base, chainLength, selectedAssets)) != null) {
+            for (int[] path : searchCycles(graph, base, selectedAssets, chainLength, minProfitPercent, NO_LIMIT, budget)) {
+                if (!sink.found(path)) {
+                    break;
+                }
+            }
+        } else {
+            streamCycles(graph, base, selectedAssets, chainLength, minProfitPercent, sink, budget);
+        }
+        log.info("Streamed {} profitable chains", streamed.get());
+    }
+    
+    /**
+     * Find opportunities for several base assets in one pass over one graph snapshot
+     * 
+     * The universe is the union of the liquidity-selected assets of every base.
+     * Each cycle is enumerated once, rooted at the first requested base on it
+     * (later roots exclude earlier bases), and reported in the group of the
+     * first base on it whose own selected universe contains the whole cycle,
+     * rotated to start there. Groups therefore match single-base scans minus
+     * cycles already reported for an earlier base.
+     */
+    @Override
+    public Map<String, List<ArbitrageChain>> findArbitrageOpportunitiesByBase(
+            List<String> baseAssets,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        log.info("Finding arbitrage opportunities: baseAssets={}, maxAssets={}, chainLength={}, minProfit={}%, limit={}",
+                baseAssets, maxAssets, chainLength, minProfitPercent, limit);
+        
+        TradingGraph graph = tradingGraph.refresh();
+        
+        // Known bases in request order with their own selected universes
+        List<Integer> bases = new ArrayList<>();
+        List<BitSet> selections = new ArrayList<>();
+        BitSet universe = new BitSet(graph.assetCount());
+        for (String baseAsset : new LinkedHashSet<>(baseAssets)) {
+            int base = graph.assetId(baseAsset);
+            if (base >= 0) {
+                BitSet selected = graph.selectTopAssets(base, maxAssets, chainLength);
+                bases.add(base);
+                selections.add(selected);
+                universe.or(selected);
+            }
+        }
+        log.info("Selected {} assets for analysis of {} base assets", universe.cardinality(), bases.size());
+        
+        List<TopCycles> tops = new ArrayList<>(bases.size());
+        for (int i = 0; i < bases.size(); i++) {
+            tops.add(new TopCycles(limit, chainLength));
+        }
+        
+        BitSet earlierBases = new BitSet(graph.assetCount());
+        BitSet cycleAssets = new BitSet(graph.assetCount());
+        int[] rotated = new int[chainLength];
+        for (int i = 0; i < bases.size() && chainLength > 0; i++) {
+            // Cycles through earlier bases are complete, this root skips them (fresh set, it keys the catalog)
+            BitSet allowed = (BitSet) universe.clone();
+            allowed.andNot(earlierBases);
+            for (int[] path : searchCycles(graph, bases.get(i), allowed, chainLength, minProfitPercent, NO_LIMIT, ScanBudget.unlimited())) {
+                cycleAssets.clear();
+                double logSum = 0.0;
+                for (int edge : path) {
+                    cycleAssets.set(graph.source(edge));
+                    logSum += graph.logRate(edge);
+                }
+                
+                for (int j = i; j < bases.size(); j++) {
+                    int base = bases.get(j);
+                    if (cycleAssets.get(base) && isSubset(cycleAssets, selections.get(j))) {
+                        rotate(graph, path, base, rotated);
+                        tops.get(j).offer(logSum, rotated);
+                        break;
+                    }
+                }
+            }
+            earlierBases.set(bases.get(i));
+        }
+        
+        Map<String, List<ArbitrageChain>> result = new LinkedHashMap<>();
+        for (String baseAsset : baseAssets) {
+            result.put(baseAsset, new ArrayList<>());
+        }
+        for (int i = 0; i < bases.size(); i++) {
+            int base = bases.get(i);
+            List<ArbitrageChain> chains = result.get(graph.asset(base));
+            for (int[] path : tops.get(i).sorted()) {
+                ArbitrageChain chain = ArbitrageChainFactory.chain(graph, base, path);
+                if (chain.getProfitPercent() >= minProfitPercent) {
+                    chains.add(chain);
+                }
+            }
+            chains.sort(Comparator.comparingDouble(ArbitrageChain::getProfitPercent).reversed());
+        }
+        List<ArbitrageChain> allChains = result.values().stream().flatMap(List::stream).toList();
+        minAmountCalculator.apply(allChains);
+        depthProfiler.profile(allChains);
+        
+        log.info("Found {} profitable chains across {} base assets",
+                result.values().stream().mapToInt(List::size).sum(), bases.size());
+        
+        return result;
     }
     
     @Override
@@ -73,290 +331,428 @@ public class SandboxArbitrageAnalyzer implements ArbitrageAnalyzer {
         }
     }
     
+    @Override
+    public MarketSnapshot getMarketSnapshot() {
+        return exchangeGateway.getMarketSnapshot();
+    }
+    
+    @Override
+    public long getMarketVersion() {
+        return exchangeGateway.getMarketVersion();
+    }
+    
     @Override
     public boolean isPairActive(String symbol) {
         return exchangeGateway.isPairActive(symbol);
     }
     
     /**
-     * Build trading graph from available pairs
+     * Get or build cycle catalog for current graph topology
+     * 
+     * Only the lookup holds the catalog lock. The first scan asking for a key
+     * builds its catalog, concurrent scans of the same key wait for that build,
+     * scans of other keys are not blocked by it.
+     * 
+     * @return Catalog or null if catalogs are disabled or universe has too many cycles
      */
-    private TradingGraph buildTradingGraph() {
-        TradingGraph graph = new TradingGraph();
-        
-        List<String> pairs = getAvailablePairs();
+    private CycleCatalog catalogFor(TradingGraph graph, CycleCatalog.Key key) {
+        if (catalogMaxCycles <= 0) {
+            return null;
+        }
         
-        for (String symbol : pairs) {
-            // Parse symbol (e.g., BTCUSDT -> BTC/USDT)
-            TradingPair pair = parseSymbol(symbol);
-            if (pair == null) {
-                continue;
+        CompletableFuture<Optional<CycleCatalog>> catalog;
+        CompletableFuture<Optional<CycleCatalog>> building = null;
+        synchronized (catalogs) {
+            if (!graph.hasSameTopology(catalogGraph)) {
+                // Topology rebuilt, cycles of old graph are meaningless
+                catalogs.clear();
+                catalogGraph = graph;
             }
-            
-            double rate = getCurrentRate(symbol);
-            if (rate <= 0) {
-                continue;
+            catalog = catalogs.get(key);
+            if (catalog == null) {
+                building = new CompletableFuture<>();
+                catalogs.put(key, building);
+                catalog = building;
             }
-            
-            // Add edge for buying quote asset with base asset
-            // E.g., BTCUSDT @ 50000 means: 1 USDT → 1/50000 BTC
-            graph.addEdge(pair.quote, pair.base, symbol, rate, false);
-            
-            // Add reverse edge for selling
-            // E.g., selling BTC for USDT: 1 BTC → 50000 USDT
-            graph.addEdge(pair.base, pair.quote, symbol, 1.0 / rate, true);
         }
         
-        log.info("Built trading graph with {} assets and {} pairs", 
-                graph.getAssets().size(), pairs.size());
-        
-        return graph;
+        if (building != null) {
+            try {
+                building.complete(Optional.ofNullable(buildCatalog(graph, key)));
+            } catch (RuntimeException e) {
+                // Let a later scan retry instead of caching the failure
+                synchronized (catalogs) {
+                    catalogs.remove(key, building);
+                }
+                building.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return catalog.join().orElse(null);
+    }
+    
+    private CycleCatalog buildCatalog(TradingGraph graph, CycleCatalog.Key key) {
+        CycleCatalog catalog = CycleCatalog.build(graph, key, catalogMaxCycles, cycleEvaluator);
+        if (catalog == null) {
+            log.info("Universe has more than {} cycles, using per-scan search", catalogMaxCycles);
+        } else {
+            log.info("Built cycle catalog with {} cycles", catalog.size());
+        }
+        return catalog;
     }
     
     /**
-     * Select top N most liquid assets
+     * Get or build triangle detector for current graph topology
      */
-    private Set<String> selectTopAssets(TradingGraph graph, String baseAsset, int maxAssets) {
-        Set<String> assets = new HashSet<>();
-        assets.add(baseAsset);
-        
-        // Get all assets connected to base asset
-        Set<String> connectedAssets = graph.getConnectedAssets(baseAsset);
-        
-        // For now, just take first N-1 (in real implementation, sort by volume)
-        assets.addAll(connectedAssets.stream()
-                .limit(maxAssets - 1)
-                .collect(Collectors.toSet()));
-        
-        return assets;
+    private synchronized TriangleDetector triangleDetectorFor(TradingGraph graph) {
+        if (!graph.hasSameTopology(triangleGraph)) {
+            triangleDetector = new TriangleDetector(graph);
+            triangleGraph = graph;
+        }
+        return triangleDetector;
     }
     
     /**
-     * Find all cycles of specified length starting from base asset
+     * Best cycle edge paths through start asset, best first
+     * 
+     * Triangles are found by neighbourhood intersection. Longer chains use the
+     * cycle catalog of (start, length, allowed assets) when one exists,
+     * otherwise they are searched per scan within the budget.
      */
-    private List<ArbitrageChain> findCycles(
+    private List<int[]> searchCycles(
             TradingGraph graph,
-            String startAsset,
-            Set<String> allowedAssets,
-            int targetLength
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength,
+            double minProfitPercent,
+            int limit,
+            ScanBudget budget
     ) {
-        List<ArbitrageChain> chains = new ArrayList<>();
-        List<ArbitrageStep> currentPath = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        
-        dfs(graph, startAsset, startAsset, allowedAssets, targetLength, 
-            currentPath, visited, chains, 1.0);
+        if (targetLength == 3) {
+            // Small tolerance, exact threshold is applied on the rate product afterwards
+            double minLogProfit = Math.log1p(minProfitPercent / 100.0) - 1e-12;
+            return Arrays.asList(triangleDetectorFor(graph).find(graph, startAsset, allowedAssets, minLogProfit, limit).sorted());
+        }
         
-        return chains;
+        CycleCatalog catalog = catalogFor(graph, new CycleCatalog.Key(startAsset, targetLength, allowedAssets));
+        return catalog != null
+                ? findCatalogCycles(graph, catalog, targetLength, minProfitPercent, limit)
+                : findCycles(graph, startAsset, allowedAssets, targetLength, minProfitPercent, limit, budget);
     }
     
     /**
-     * DFS to find cycles
+     * Re-evaluate cycles affected by price moves and return the best profitable ones
      */
-    private void dfs(
+    private List<int[]> findCatalogCycles(
             TradingGraph graph,
-            String current,
-            String target,
-            Set<String> allowedAssets,
-            int remainingSteps,
-            List<ArbitrageStep> currentPath,
-            Set<String> visited,
-            List<ArbitrageChain> result,
-            double accumulatedRate
+            CycleCatalog catalog,
+            int chainLength,
+            double minProfitPercent,
+            int limit
     ) {
-        // Base case: reached target with correct length
-        if (remainingSteps == 0) {
-            if (current.equals(target) && !currentPath.isEmpty()) {
-                // Calculate profit
-                double profitPercent = (accumulatedRate - 1.0) * 100.0;
-                
-                // Calculate minimum required base amount
-                double minRequired = calculateMinRequiredAmount(currentPath);
-                
-                // Create chain
-                ArbitrageChain chain = ArbitrageChain.builder()
-                        .id(UUID.randomUUID().toString())
-                        .baseAsset(target)
-                        .steps(new ArrayList<>(currentPath))
-                        .profitPercent(profitPercent)
-                        .minRequiredBaseAmount(minRequired)
-                        .timestamp(Instant.now())
-                        .status(ArbitrageChain.ChainStatus.FOUND)
-                        .build();
-                
-                result.add(chain);
-            }
-            return;
-        }
+        // Small tolerance, exact threshold is applied on the rate product afterwards
+        double minLogProfit = Math.log1p(minProfitPercent / 100.0) - 1e-12;
         
-        // Pruning: if current rate is already unprofitable, skip
-        if (accumulatedRate < 0.5) {
-            return;
+        TopCycles top = new TopCycles(limit, 1);
+        synchronized (catalog) {
+            int evaluated = catalog.sync(graph);
+            log.debug("Re-evaluated {} of {} catalog cycles", evaluated, catalog.size());
+            catalog.collect(minLogProfit, top);
         }
         
-        // Explore neighbors
-        List<TradingGraph.Edge> edges = graph.getEdges(current);
-        for (TradingGraph.Edge edge : edges) {
-            String nextAsset = edge.to;
-            
-            // Check if asset is allowed
-            if (!allowedAssets.contains(nextAsset)) {
-                continue;
+        List<int[]> paths = new ArrayList<>(top.size());
+        for (int[] cycle : top.sorted()) {
+            int[] path = new int[chainLength];
+            for (int k = 0; k < chainLength; k++) {
+                path[k] = catalog.edge(cycle[0], k);
             }
-            
-            // If not at target yet, don't revisit (except target at the end)
-            if (remainingSteps > 1 && visited.contains(nextAsset)) {
-                continue;
+            paths.add(path);
+        }
+        return paths;
+    }
+    
+    private static boolean isSubset(BitSet assets, BitSet universe) {
+        for (int a = assets.nextSetBit(0); a >= 0; a = assets.nextSetBit(a + 1)) {
+            if (!universe.get(a)) {
+                return false;
             }
-            
-            // Add to path
-            ArbitrageStep step = ArbitrageStep.builder()
-                    .fromAsset(current)
-                    .toAsset(nextAsset)
-                    .symbol(edge.symbol)
-                    .rate(edge.rate)
-                    .minQty(0.001) // TODO: Get from exchange
-                    .maxQty(1000.0) // TODO: Get from exchange
-                    .priceDecimals(8)
-                    .qtyDecimals(8)
-                    .build();
-            
-            currentPath.add(step);
-            visited.add(current);
-            
-            // Recursive call
-            dfs(graph, nextAsset, target, allowedAssets, remainingSteps - 1,
-                currentPath, visited, result, accumulatedRate * edge.rate);
-            
-            // Backtrack
-            currentPath.remove(currentPath.size() - 1);
-            visited.remove(current);
         }
+        return true;
     }
     
     /**
-     * Parse trading pair symbol
+     * Rotate cycle edge path to start at asset (which must lie on the cycle)
      */
-    private TradingPair parseSymbol(String symbol) {
-        // Common quote currencies
-        String[] quotes = {"USDT", "BTC", "ETH", "BNB", "BUSD", "USD", "EUR"};
-        
-        for (String quote : quotes) {
-            if (symbol.endsWith(quote)) {
-                String base = symbol.substring(0, symbol.length() - quote.length());
-                if (!base.isEmpty()) {
-                    return new TradingPair(base, quote);
-                }
-            }
+    private static void rotate(TradingGraph graph, int[] path, int startAsset, int[] rotated) {
+        int offset = 0;
+        while (graph.source(path[offset]) != startAsset) {
+            offset++;
+        }
+        for (int k = 0; k < path.length; k++) {
+            rotated[k] = path[(offset + k) % path.length];
         }
-        
-        return null;
     }
     
     /**
-     * Trading pair representation
+     * Find all cycles of specified length starting from base asset
+     * 
+     * Chains of at least meet-in-the-middle min length are joined from half
+     * paths (see MeetInTheMiddleSearch). Shorter chains are enumerated: subtrees
+     * below each first-hop edge are independent, so every first hop is
+     * searched as its own fork-join task with private path and visited state.
+     * Each task keeps its own bounded top-K, results are merged in first-hop
+     * edge order, which keeps the output identical for any parallelism level.
+     * Edges are explored best rate first, so profitable cycles are found early,
+     * the top-K threshold rises fast and a scan cut short by its budget still
+     * holds the most promising cycles.
      */
-    private static class TradingPair {
-        String base;
-        String quote;
+    List<int[]> findCycles(
+            TradingGraph graph,
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength,
+            double minProfitPercent,
+            int limit,
+            ScanBudget budget
+    ) {
+        if (targetLength < 1) {
+            return new ArrayList<>();
+        }
+        
+        // Small tolerance, exact threshold is applied on the rate product afterwards
+        double minLogProfit = Math.log1p(minProfitPercent / 100.0) - 1e-12;
+        double[][] bestRemaining = bestRemainingLogRates(graph, startAsset, allowedAssets, targetLength);
         
-        TradingPair(String base, String quote) {
-            this.base = base;
-            this.quote = quote;
+        // Long chains: join half paths instead of enumerating full paths
+        if (meetInTheMiddleMinLength > 0 && targetLength >= meetInTheMiddleMinLength
+                && MeetInTheMiddleSearch.supports(allowedAssets, startAsset)) {
+            MeetInTheMiddleSearch search = new MeetInTheMiddleSearch(
+                    graph, startAsset, allowedAssets, targetLength, minLogProfit, bestRemaining);
+            return Arrays.asList(search.run(searchPool, limit, budget).sorted());
         }
+        
+        List<FirstHopSearch> searches = firstHopSearches(
+                graph, startAsset, allowedAssets, targetLength, minLogProfit, bestRemaining, limit, null, budget);
+        invokeSearches(searches);
+        
+        TopCycles top = new TopCycles(limit, targetLength);
+        for (FirstHopSearch search : searches) {
+            top.addAll(search.join());
+        }
+        
+        return Arrays.asList(top.sorted());
     }
     
     /**
-     * Calculate minimum required base amount for a chain
-     * Works backwards from the last step to find minimum starting amount
+     * Depth-first search passing every cycle of at least min profit to sink as it is found
      */
-    private double calculateMinRequiredAmount(List<ArbitrageStep> steps) {
-        if (steps.isEmpty()) {
-            return 10.0;
+    private void streamCycles(
+            TradingGraph graph,
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength,
+            double minProfitPercent,
+            CycleSink sink,
+            ScanBudget budget
+    ) {
+        double minLogProfit = Math.log1p(minProfitPercent / 100.0) - 1e-12;
+        double[][] bestRemaining = bestRemainingLogRates(graph, startAsset, allowedAssets, targetLength);
+        invokeSearches(firstHopSearches(
+                graph, startAsset, allowedAssets, targetLength, minLogProfit, bestRemaining, NO_LIMIT, sink, budget));
+    }
+    
+    /**
+     * One search task per allowed first-hop edge, best rate first
+     */
+    private static List<FirstHopSearch> firstHopSearches(
+            TradingGraph graph,
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength,
+            double minLogProfit,
+            double[][] bestRemaining,
+            int limit,
+            CycleSink sink,
+            ScanBudget budget
+    ) {
+        int[] edgesByRate = graph.edgesByRate();
+        List<FirstHopSearch> searches = new ArrayList<>();
+        for (int i = graph.edgeStart(startAsset); i < graph.edgeEnd(startAsset); i++) {
+            int edge = edgesByRate[i];
+            if (allowedAssets.get(graph.target(edge))) {
+                searches.add(new FirstHopSearch(
+                        graph, startAsset, edge, allowedAssets, targetLength, minLogProfit, bestRemaining, limit, sink, budget));
+            }
         }
+        return searches;
+    }
+    
+    private void invokeSearches(List<FirstHopSearch> searches) {
+        if (searches.size() > 1 && searchPool.getParallelism() > 1) {
+            searchPool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(searches);
+                }
+            });
+        } else {
+            searches.forEach(ForkJoinTask::invoke);
+        }
+    }
+    
+    /**
+     * Upper bound of log-profit still reachable from each asset
+     * 
+     * bestRemaining[k][a] is the best log-rate sum of any k-edge walk from asset a
+     * back to the start asset within allowed assets (-Infinity if there is none).
+     * Walks may repeat assets, so this never underestimates a simple cycle.
+     */
+    private static double[][] bestRemainingLogRates(
+            TradingGraph graph,
+            int startAsset,
+            BitSet allowedAssets,
+            int targetLength
+    ) {
+        int n = graph.assetCount();
+        double[][] best = new double[targetLength + 1][n];
+        Arrays.fill(best[0], Double.NEGATIVE_INFINITY);
+        best[0][startAsset] = 0.0;
         
-        // Start from the end and work backwards
-        // Find the maximum minQty requirement when converted to base currency
-        double maxRequired = 10.0; // Default minimum
-        
-        for (int i = 0; i < steps.size(); i++) {
-            ArbitrageStep step = steps.get(i);
-            
-            // Determine if this is a BUY or SELL
-            boolean isBuy = step.getSymbol().startsWith(step.getToAsset());
-            
-            // Calculate what baseAmount would be needed for this step to have minQty
-            double requiredForThisStep;
-            if (isBuy) {
-                // For BUY: baseAmount (quote) / rate = quantity (base)
-                // So: baseAmount = minQty * rate
-                requiredForThisStep = step.getMinQty() * step.getRate();
-            } else {
-                // For SELL: baseAmount (base) = quantity (base)
-                requiredForThisStep = step.getMinQty();
-            }
-            
-            // Propagate back through previous steps
-            for (int j = i - 1; j >= 0; j--) {
-                ArbitrageStep prevStep = steps.get(j);
-                boolean prevIsBuy = prevStep.getSymbol().startsWith(prevStep.getToAsset());
-                
-                if (prevIsBuy) {
-                    // Previous step BUYs: baseAmount / rate = output
-                    // So: baseAmount = output * rate
-                    requiredForThisStep = requiredForThisStep * prevStep.getRate();
-                } else {
-                    // Previous step SELLs: output = baseAmount * rate
-                    // So: baseAmount = output / rate
-                    requiredForThisStep = requiredForThisStep / prevStep.getRate();
+        for (int k = 1; k <= targetLength; k++) {
+            double[] previous = best[k - 1];
+            double[] current = best[k];
+            Arrays.fill(current, Double.NEGATIVE_INFINITY);
+            for (int a = allowedAssets.nextSetBit(0); a >= 0; a = allowedAssets.nextSetBit(a + 1)) {
+                double bound = Double.NEGATIVE_INFINITY;
+                for (int edge = graph.edgeStart(a); edge < graph.edgeEnd(a); edge++) {
+                    int next = graph.target(edge);
+                    if (allowedAssets.get(next) && previous[next] != Double.NEGATIVE_INFINITY) {
+                        bound = Math.max(bound, graph.logRate(edge) + previous[next]);
+                    }
                 }
+                current[a] = bound;
             }
-            
-            maxRequired = Math.max(maxRequired, requiredForThisStep);
         }
         
-        // Round up to nearest 10
-        return Math.ceil(maxRequired / 10.0) * 10.0;
+        return best;
     }
     
     /**
-     * Trading graph representation
+     * Cycle search below one first-hop edge of the base asset
+     * 
+     * Explores with primitive state only (edge path, visited bitset, log-rate sum)
+     * and cuts branches whose best reachable profit is below the threshold,
+     * which rises to the worst kept cycle once the top-K is full. With a sink
+     * every qualifying cycle is passed on immediately instead of being kept.
      */
-    private static class TradingGraph {
-        private final Map<String, List<Edge>> adjacencyList = new HashMap<>();
+    private static class FirstHopSearch extends RecursiveTask<TopCycles> {
+        private final TradingGraph graph;
+        private final int startAsset;
+        private final int firstEdge;
+        private final BitSet allowedAssets;
+        private final int targetLength;
+        private final double minLogProfit;
+        private final double[][] bestRemaining;
+        private final CycleSink sink;
+        private final ScanBudget budget;
+        private final int[] edgesByRate;
         
-        void addEdge(String from, String to, String symbol, double rate, boolean isReverse) {
-            adjacencyList.computeIfAbsent(from, k -> new ArrayList<>())
-                    .add(new Edge(to, symbol, rate, isReverse));
-        }
-        
-        List<Edge> getEdges(String asset) {
-            return adjacencyList.getOrDefault(asset, List.of());
-        }
+        private final int[] path;
+        private final BitSet visited;
+        private final TopCycles result;
+        private int visits;
+        private boolean exhausted;
         
-        Set<String> getAssets() {
-            return adjacencyList.keySet();
+        FirstHopSearch(
+                TradingGraph graph,
+                int startAsset,
+                int firstEdge,
+                BitSet allowedAssets,
+                int targetLength,
+                double minLogProfit,
+                double[][] bestRemaining,
+                int limit,
+                CycleSink sink,
+                ScanBudget budget
+        ) {
+            this.graph = graph;
+            this.startAsset = startAsset;
+            this.firstEdge = firstEdge;
+            this.allowedAssets = allowedAssets;
+            this.targetLength = targetLength;
+            this.minLogProfit = minLogProfit;
+            this.bestRemaining = bestRemaining;
+            this.sink = sink;
+            this.budget = budget;
+            this.edgesByRate = graph.edgesByRate();
+            this.path = new int[targetLength];
+            this.visited = new BitSet(graph.assetCount());
+            this.result = new TopCycles(limit, targetLength);
         }
         
-        Set<String> getConnectedAssets(String asset) {
-            return getEdges(asset).stream()
-                    .map(edge -> edge.to)
-                    .collect(Collectors.toSet());
+        @Override
+        protected TopCycles compute() {
+            if (budget.isExhausted()) {
+                return result;
+            }
+            path[0] = firstEdge;
+            visited.set(startAsset);
+            search(graph.target(firstEdge), 1, graph.logRate(firstEdge));
+            return result;
         }
         
-        static class Edge {
-            String to;
-            String symbol;
-            double rate;
-            boolean isReverse;
+        private void search(int current, int depth, double logSum) {
+            // Budget: poll every few thousand nodes, keep what was found once it is spent
+            if (exhausted || ((++visits & (ScanBudget.POLL_INTERVAL - 1)) == 0 && (exhausted = budget.isExhausted()))) {
+                return;
+            }
+            int remaining = targetLength - depth;
+            
+            // Base case: reached start asset with correct length
+            if (remaining == 0) {
+                if (current == startAsset && logSum >= minLogProfit) {
+                    if (sink == null) {
+                        result.offer(logSum, path);
+                    } else if (!sink.found(path)) {
+                        exhausted = true;
+                    }
+                }
+                return;
+            }
             
-            Edge(String to, String symbol, double rate, boolean isReverse) {
-                this.to = to;
-                this.symbol = symbol;
-                this.rate = rate;
-                this.isReverse = isReverse;
+            // Pruning: even the best continuation cannot reach min profit or enter top-K
+            if (logSum + bestRemaining[remaining][current] < Math.max(minLogProfit, result.threshold())) {
+                return;
             }
+            
+            // Best rate first
+            visited.set(current);
+            int end = graph.edgeEnd(current);
+            for (int i = graph.edgeStart(current); i < end; i++) {
+                int edge = edgesByRate[i];
+                int next = graph.target(edge);
+                
+                // Only allowed assets, no revisits except the start asset at the end
+                if (!allowedAssets.get(next) || (remaining > 1 && visited.get(next))) {
+                    continue;
+                }
+                
+                path[depth] = edge;
+                search(next, depth + 1, logSum + graph.logRate(edge));
+            }
+            visited.clear(current);
         }
     }
+    
+    /**
+     * Receiver of cycle edge paths found by a streaming search, path array is reused
+     */
+    @FunctionalInterface
+    private interface CycleSink {
+        
+        /**
+         * @return false to stop the search
+         */
+        boolean found(int[] path);
+    }
 }
-
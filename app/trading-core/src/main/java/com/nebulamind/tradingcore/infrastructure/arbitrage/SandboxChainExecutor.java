@@ -1,10 +1,13 @@
 package com.nebulamind.tradingcore.infrastructure.arbitrage;
 
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
 import com.nebulamind.tradingcore.domain.model.Order;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
 import com.nebulamind.tradingcore.domain.port.ChainExecutor;
 import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,7 +22,9 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Implementation of ChainExecutor for sandbox
  * 
- * Executes arbitrage chains by placing orders sequentially
+ * Executes arbitrage chains by placing orders sequentially. Registered chains
+ * stay in compact form next to their status and execution results, steps are
+ * expanded one at a time while executing and all at once for status queries.
  */
 @Component
 @ConditionalOnProperty(name = "nebulamind.exchange.type", havingValue = "sandbox")
@@ -28,16 +33,22 @@ import java.util.concurrent.ConcurrentHashMap;
 public class SandboxChainExecutor implements ChainExecutor {
     
     private final ExchangeGateway exchangeGateway;
-    private final Map<String, ArbitrageChain> chains = new ConcurrentHashMap<>();
+    private final SymbolRegistry symbolRegistry;
+    private final Map<String, RegisteredChain> chains = new ConcurrentHashMap<>();
     private final Map<String, ExecutionContext> executionContexts = new ConcurrentHashMap<>();
     
     @Override
-    public ArbitrageChain executeChain(ArbitrageChain chain, double baseAmount) {
+    public ArbitrageChain executeChain(CompactChain chain, double baseAmount) {
         log.info("Executing arbitrage chain: {} with base amount: {}", chain.getId(), baseAmount);
         
-        // Store chain
-        chains.put(chain.getId(), chain);
-        chain.setStatus(ArbitrageChain.ChainStatus.EXECUTING);
+        // Claim chain id, one execution per chain at a time
+        RegisteredChain registered = new RegisteredChain(chain, chain.length());
+        registered.status = ArbitrageChain.ChainStatus.EXECUTING;
+        RegisteredChain claimed = chains.compute(chain.getId(), (id, current) ->
+                current != null && current.status == ArbitrageChain.ChainStatus.EXECUTING ? current : registered);
+        if (claimed != registered) {
+            throw new IllegalStateException("Chain is already executing: " + chain.getId());
+        }
         
         // Create execution context
         ExecutionContext context = new ExecutionContext();
@@ -48,16 +59,23 @@ public class SandboxChainExecutor implements ChainExecutor {
         context.startTime = Instant.now();
         executionContexts.put(chain.getId(), context);
         
+        // Size orders from one coherent market view
+        MarketSnapshot snapshot = exchangeGateway.getMarketSnapshot();
+        if (snapshot.getVersion() != chain.getSnapshotVersion()) {
+            log.info("Chain {} was priced on snapshot {}, executing on snapshot {}",
+                    chain.getId(), chain.getSnapshotVersion(), snapshot.getVersion());
+        }
+        
         try {
             // Execute each step in the chain
-            for (int i = 0; i < chain.getSteps().size(); i++) {
-                ArbitrageStep step = chain.getSteps().get(i);
+            for (int i = 0; i < chain.length(); i++) {
+                ArbitrageStep step = chain.step(i, symbolRegistry::get);
                 log.info("Executing step {}/{}: {} -> {} ({})", 
-                        i + 1, chain.getSteps().size(), 
+                        i + 1, chain.length(), 
                         step.getFromAsset(), step.getToAsset(), step.getSymbol());
                 
                 // Place order for this step
-                Order order = createOrderForStep(step, context.currentAmount);
+                Order order = createOrderForStep(step, context.currentAmount, snapshot);
                 Order executedOrder = exchangeGateway.placeOrder(order);
                 
                 // Check execution
@@ -66,8 +84,8 @@ public class SandboxChainExecutor implements ChainExecutor {
                 }
                 
                 // Update step with execution details
-                step.setAmount(executedOrder.getQuantity());
-                step.setStatus(executedOrder.getStatus().name());
+                registered.stepAmounts[i] = executedOrder.getQuantity();
+                registered.filledSteps = i + 1;
                 
                 // Update context
                 context.executedOrders.add(executedOrder);
@@ -80,69 +98,100 @@ public class SandboxChainExecutor implements ChainExecutor {
             double profit = context.currentAmount - context.startAmount;
             double profitPercent = (profit / context.startAmount) * 100.0;
             
-            chain.setStatus(ArbitrageChain.ChainStatus.COMPLETED);
-            chain.setProfitPercent(profitPercent);
-            chain.setInitialAmount(context.startAmount);
-            chain.setFinalAmount(context.currentAmount);
+            registered.profitPercent = profitPercent;
+            registered.initialAmount = context.startAmount;
+            registered.finalAmount = context.currentAmount;
+            registered.status = ArbitrageChain.ChainStatus.COMPLETED;
             
             log.info("Chain execution completed: start={}, end={}, profit={}%", 
                     context.startAmount, context.currentAmount, profitPercent);
             
         } catch (Exception e) {
             log.error("Chain execution failed: {}", e.getMessage(), e);
-            chain.setStatus(ArbitrageChain.ChainStatus.FAILED);
+            registered.status = ArbitrageChain.ChainStatus.FAILED;
             
             // Try to rollback (cancel pending orders)
             rollbackExecution(context);
         }
         
-        return chain;
+        return expand(registered);
     }
     
     @Override
     public boolean cancelChain(String chainId) {
         log.info("Cancelling arbitrage chain: {}", chainId);
         
-        ArbitrageChain chain = chains.get(chainId);
+        RegisteredChain chain = chains.get(chainId);
         if (chain == null) {
             log.warn("Chain not found: {}", chainId);
             return false;
         }
         
         // Only can cancel if not executing
-        if (chain.getStatus() == ArbitrageChain.ChainStatus.EXECUTING) {
+        if (chain.status == ArbitrageChain.ChainStatus.EXECUTING) {
             log.warn("Cannot cancel executing chain: {}", chainId);
             return false;
         }
         
-        chain.setStatus(ArbitrageChain.ChainStatus.CANCELLED);
+        chain.status = ArbitrageChain.ChainStatus.CANCELLED;
         return true;
     }
     
     @Override
     public ArbitrageChain getChainStatus(String chainId) {
-        return chains.get(chainId);
+        RegisteredChain chain = chains.get(chainId);
+        return chain != null ? expand(chain) : null;
+    }
+    
+    @Override
+    public CompactChain getChain(String chainId) {
+        RegisteredChain chain = chains.get(chainId);
+        return chain != null ? chain.chain : null;
     }
     
     @Override
-    public void registerChain(ArbitrageChain chain) {
+    public void registerChain(CompactChain chain) {
         log.debug("Registering chain: id={}, profit={}%", chain.getId(), chain.getProfitPercent());
         
-        // Set initial status to FOUND if not set
-        if (chain.getStatus() == null) {
-            chain.setStatus(ArbitrageChain.ChainStatus.FOUND);
+        // Chain ids are stable across scans, a re-found chain only refreshes the prices of
+        // a chain waiting for execution, executing and finished entries keep their results
+        chains.compute(chain.getId(), (id, registered) -> {
+            if (registered == null) {
+                return new RegisteredChain(chain, 0);
+            }
+            if (registered.status == ArbitrageChain.ChainStatus.FOUND) {
+                registered.chain = chain;
+            }
+            return registered;
+        });
+    }
+    
+    /**
+     * Full view of registered chain with its status and execution results
+     */
+    private ArbitrageChain expand(RegisteredChain registered) {
+        ArbitrageChain chain = registered.chain.expand(symbolRegistry::get);
+        chain.setStatus(registered.status);
+        for (int i = 0; i < registered.filledSteps; i++) {
+            ArbitrageStep step = chain.getSteps().get(i);
+            step.setAmount(registered.stepAmounts[i]);
+            step.setStatus(Order.OrderStatus.FILLED.name());
         }
-        
-        chains.put(chain.getId(), chain);
+        if (registered.status == ArbitrageChain.ChainStatus.COMPLETED) {
+            chain.setProfitPercent(registered.profitPercent);
+            chain.setInitialAmount(registered.initialAmount);
+            chain.setFinalAmount(registered.finalAmount);
+        }
+        return chain;
     }
     
     /**
      * Create order for arbitrage step
      */
-    private Order createOrderForStep(ArbitrageStep step, double currentAmount) {
+    private Order createOrderForStep(ArbitrageStep step, double currentAmount, MarketSnapshot snapshot) {
         // Determine order side and quantity
         Order.OrderSide side = determineSide(step);
-        double quantity = calculateQuantity(step, currentAmount);
+        double quantity = calculateQuantity(step, currentAmount, snapshot);
         
         return Order.builder()
                 .symbol(step.getSymbol())
@@ -156,13 +205,8 @@ public class SandboxChainExecutor implements ChainExecutor {
      * Determine order side (BUY or SELL)
      */
     private Order.OrderSide determineSide(ArbitrageStep step) {
-        // If symbol ends with fromAsset, we're selling fromAsset
-        // Otherwise, we're buying toAsset with fromAsset
-        if (step.getSymbol().startsWith(step.getToAsset())) {
-            return Order.OrderSide.BUY;
-        } else {
-            return Order.OrderSide.SELL;
-        }
+        // Receiving the pair's base asset is a BUY, receiving its quote asset a SELL
+        return symbolRegistry.require(step.getSymbol()).sideFor(step.getToAsset());
     }
     
     /**
@@ -171,14 +215,15 @@ public class SandboxChainExecutor implements ChainExecutor {
      * For BUY orders: we have quote currency (e.g. USDT), need to calculate base quantity
      * For SELL orders: we have base currency already
      */
-    private double calculateQuantity(ArbitrageStep step, double currentAmount) {
+    private double calculateQuantity(ArbitrageStep step, double currentAmount, MarketSnapshot snapshot) {
         Order.OrderSide side = determineSide(step);
         double quantity;
         
         if (side == Order.OrderSide.BUY) {
             // We have quote currency (e.g. USDT), calculate how much base we can buy
-            // quantity (base) = currentAmount (quote) / price
-            quantity = currentAmount / step.getRate();
+            // quantity (base) = currentAmount (quote) / snapshot ask, or * step rate before fee without a quote
+            double price = snapshot.ask(step.getSymbol());
+            quantity = price > 0 ? currentAmount / price : currentAmount * step.grossRate();
         } else {
             // We have base currency already, use it directly
             quantity = currentAmount;
@@ -200,15 +245,15 @@ public class SandboxChainExecutor implements ChainExecutor {
     }
     
     /**
-     * Calculate output amount after order execution
+     * Calculate output amount after order execution, net of commission
      */
     private double calculateOutputAmount(Order executedOrder, ArbitrageStep step) {
         if (executedOrder.getSide() == Order.OrderSide.BUY) {
             // Bought toAsset
-            return executedOrder.getExecutedQty();
+            return executedOrder.getExecutedQty() - executedOrder.getCommission();
         } else {
             // Sold fromAsset, received quote currency
-            return executedOrder.getExecutedQty() * executedOrder.getAvgPrice();
+            return executedOrder.getExecutedQty() * executedOrder.getAvgPrice() - executedOrder.getCommission();
         }
     }
     
@@ -225,6 +270,24 @@ public class SandboxChainExecutor implements ChainExecutor {
         log.warn("Rollback not implemented for sandbox");
     }
     
+    /**
+     * Registered chain with mutable status and execution results
+     */
+    private static final class RegisteredChain {
+        volatile CompactChain chain;  // As found or last repriced, fixed once executed
+        final double[] stepAmounts;  // Executed quantity per step, empty until executed
+        volatile ArbitrageChain.ChainStatus status = ArbitrageChain.ChainStatus.FOUND;
+        int filledSteps;
+        double profitPercent;
+        double initialAmount;
+        double finalAmount;
+        
+        RegisteredChain(CompactChain chain, int executedSteps) {
+            this.chain = chain;
+            this.stepAmounts = new double[executedSteps];
+        }
+    }
+    
     /**
      * Execution context
      */
@@ -0,0 +1,21 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+/**
+ * Plain loop cycle evaluation, one column at a time for sequential access
+ */
+final class ScalarCycleEvaluator implements CycleEvaluator {
+
+    @Override
+    public void evaluate(int[][] columns, int cycleCount, double[] logRates, double[] out) {
+        int[] first = columns[0];
+        for (int c = 0; c < cycleCount; c++) {
+            out[c] = logRates[first[c]];
+        }
+        for (int k = 1; k < columns.length; k++) {
+            int[] column = columns[k];
+            for (int c = 0; c < cycleCount; c++) {
+                out[c] += logRates[column[c]];
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Time budget and cancellation of one scan
+ *
+ * A scan is exhausted once its deadline passes, once the market moved on to
+ * a newer snapshot than the one the scan prices with (polled without moving
+ * the market, see ExchangeGateway#getMarketVersion), or once it was stopped
+ * explicitly (e.g. by a streaming consumer). Search loops poll
+ * {@link #isExhausted()} every {@link #POLL_INTERVAL} nodes and keep the best
+ * cycles found until then, so clock and snapshot version are read rarely.
+ */
+final class ScanBudget {
+
+    /**
+     * Search nodes between two polls (power of two)
+     */
+    static final int POLL_INTERVAL = 1024;
+
+    private static final Duration MAX_BUDGET = Duration.ofDays(1);
+
+    enum Reason {
+        DEADLINE,
+        SUPERSEDED,
+        STOPPED
+    }
+
+    private final long deadlineNanos;
+    private final long snapshotVersion;
+    private final LongSupplier currentVersion;
+    private volatile Reason reason;
+
+    private ScanBudget(long deadlineNanos, long snapshotVersion, LongSupplier currentVersion) {
+        this.deadlineNanos = deadlineNanos;
+        this.snapshotVersion = snapshotVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * Budget that only ends by {@link #stop()}
+     */
+    static ScanBudget unlimited() {
+        return new ScanBudget(Long.MAX_VALUE, 0L, null);
+    }
+
+    /**
+     * @param deadline        End of the scan (null = no deadline)
+     * @param snapshotVersion Version of the snapshot the scan prices with
+     * @param currentVersion  Version of the latest market snapshot
+     */
+    static ScanBudget until(Instant deadline, long snapshotVersion, LongSupplier currentVersion) {
+        long deadlineNanos = Long.MAX_VALUE;
+        if (deadline != null) {
+            // Deadlines beyond a day count as none, which keeps nanoTime arithmetic far from overflow
+            Duration remaining = Duration.between(Instant.now(), deadline);
+            if (remaining.compareTo(MAX_BUDGET) < 0) {
+                deadlineNanos = System.nanoTime() + (remaining.isNegative() ? 0L : remaining.toNanos());
+            }
+        }
+        return new ScanBudget(deadlineNanos, snapshotVersion, currentVersion);
+    }
+
+    /**
+     * Check deadline and market version, once exhausted the budget stays exhausted
+     */
+    boolean isExhausted() {
+        if (reason != null) {
+            return true;
+        }
+        if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos >= 0) {
+            reason = Reason.DEADLINE;
+        } else if (currentVersion != null && currentVersion.getAsLong() > snapshotVersion) {
+            reason = Reason.SUPERSEDED;
+        }
+        return reason != null;
+    }
+
+    void stop() {
+        if (reason == null) {
+            reason = Reason.STOPPED;
+        }
+    }
+
+    /**
+     * @return Why the scan ended early, null if it was not cut short
+     */
+    Reason reason() {
+        return reason;
+    }
+}
@@ -0,0 +1,161 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import java.util.Arrays;
+
+/**
+ * Bounded collection of the best scored cycles
+ *
+ * Every entry is a score (log-profit) with a fixed-width int payload, e.g. the
+ * edge ids of a cycle or a catalog cycle id. With a limit the entries are kept
+ * in a min-heap of that size, so memory and ordering cost are O(K) regardless
+ * of how many cycles are offered. Limit 0 keeps every entry.
+ *
+ * Equal scores keep the entry offered first, which makes the result depend
+ * only on offer order.
+ */
+final class TopCycles {
+
+    private final int limit;
+    private final int width;
+
+    private double[] scores;
+    private long[] sequence;
+    private int[] payloads;
+    // Min-heap of entry slots (worst entry at the root), only used with a limit
+    private int[] heap;
+    private int size;
+    private long offered;
+
+    /**
+     * @param limit Max entries kept (0 = unbounded)
+     * @param width Payload ints per entry
+     */
+    TopCycles(int limit, int width) {
+        this.limit = Math.max(limit, 0);
+        this.width = width;
+        int capacity = this.limit > 0 ? this.limit : 16;
+        this.scores = new double[capacity];
+        this.sequence = new long[capacity];
+        this.payloads = new int[capacity * width];
+        this.heap = this.limit > 0 ? new int[capacity] : null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Lowest score that could still enter the collection
+     *
+     * @return Score of worst kept entry when full, -Infinity otherwise
+     */
+    double threshold() {
+        return limit > 0 && size == limit ? scores[heap[0]] : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Offer entry, payload is copied only when the entry is kept
+     */
+    void offer(double score, int[] payload) {
+        long seq = offered++;
+        if (limit == 0) {
+            if (size == scores.length) {
+                int capacity = size * 2;
+                scores = Arrays.copyOf(scores, capacity);
+                sequence = Arrays.copyOf(sequence, capacity);
+                payloads = Arrays.copyOf(payloads, capacity * width);
+            }
+            store(size++, score, seq, payload);
+            return;
+        }
+
+        if (size < limit) {
+            store(size, score, seq, payload);
+            heap[size] = size;
+            siftUp(size++);
+        } else if (score > scores[heap[0]]) {
+            store(heap[0], score, seq, payload);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offer all entries of other collection, best first
+     */
+    void addAll(TopCycles other) {
+        int[] payload = new int[width];
+        for (int slot : other.sortedSlots()) {
+            System.arraycopy(other.payloads, slot * width, payload, 0, width);
+            offer(other.scores[slot], payload);
+        }
+    }
+
+    /**
+     * Payloads ordered by score descending (ties in offer order)
+     */
+    int[][] sorted() {
+        int[] slots = sortedSlots();
+        int[][] result = new int[slots.length][];
+        for (int i = 0; i < slots.length; i++) {
+            result[i] = Arrays.copyOfRange(payloads, slots[i] * width, (slots[i] + 1) * width);
+        }
+        return result;
+    }
+
+    private int[] sortedSlots() {
+        Integer[] slots = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        Arrays.sort(slots, (a, b) -> isWorse(a, b) ? 1 : isWorse(b, a) ? -1 : 0);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = slots[i];
+        }
+        return result;
+    }
+
+    private void store(int slot, double score, long seq, int[] payload) {
+        scores[slot] = score;
+        sequence[slot] = seq;
+        System.arraycopy(payload, 0, payloads, slot * width, width);
+    }
+
+    private boolean isWorse(int slotA, int slotB) {
+        return scores[slotA] < scores[slotB]
+                || (scores[slotA] == scores[slotB] && sequence[slotA] > sequence[slotB]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!isWorse(heap[index], heap[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && isWorse(heap[right], heap[left]) ? right : left;
+            if (!isWorse(heap[worst], heap[index])) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,649 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Trading graph representation shared by arbitrage analyzers
+ *
+ * Assets are nodes, every trading pair contributes a buy and a sell edge whose
+ * rate is the amount of target asset received per unit of source asset, net of
+ * the symbol's taker fee. Fees are therefore part of every cycle's log-profit
+ * and a cycle that only pays off before fees is pruned by the search itself.
+ * Asset codes and symbols are interned to ints and edges are stored in
+ * compressed sparse row form: the outgoing edges of asset {@code a} are the
+ * indexes {@code edgeStart(a) .. edgeEnd(a) - 1} of the primitive edge arrays.
+ * Cycle search therefore works on ints only and never hashes or compares strings.
+ *
+ * Edge weights of one instance come from a single market snapshot and never
+ * change. A new snapshot yields a new instance ({@link #withPrices}) that
+ * shares the topology arrays and only owns its price and rate arrays, so a
+ * scan sees one coherent market even while the live graph moves on.
+ *
+ * Buy edges are priced at the best ask and sell edges at the best bid, so
+ * every cycle pays the spread of each pair it trades, as a market order would.
+ */
+@Slf4j
+final class TradingGraph {
+
+    private final String[] assets;
+    private final Map<String, Integer> assetIds;
+    private final String[] symbols;
+    private final Map<String, Integer> symbolIds;
+    private final SymbolInfo[] symbolInfos;
+
+    // CSR layout: offsets[a] .. offsets[a + 1] are the outgoing edges of asset a
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final double[] rates;
+    private final double[] logRates;
+    private final int[] edgeSymbols;
+    private final boolean[] reverse;
+
+    // Share of traded amount kept after taker fee, per symbol
+    private final double[] feeFactors;
+
+    // Best bid and ask per symbol of the snapshot edge rates were computed from
+    private final double[] bids;
+    private final double[] asks;
+    private final long snapshotVersion;
+
+    // Outgoing edges of every asset by log-rate descending, CSR-aligned (snapshot specific, built on first use)
+    private volatile int[] edgesByRate;
+
+    // 24h quote volume per symbol and neighbours of base assets ranked by it (shared by all snapshots of topology,
+    // every volume reload publishes a new Liquidity so rankings are never computed from half-updated volumes)
+    private final AtomicReference<Liquidity> liquidity;
+
+    // Assets that can lie on a cycle through a base asset, per base (topology only, shared by all snapshots)
+    private final Map<Integer, BitSet> cycleAssets;
+
+    private TradingGraph(
+            String[] assets,
+            Map<String, Integer> assetIds,
+            String[] symbols,
+            SymbolInfo[] symbolInfos,
+            int[] offsets,
+            int[] sources,
+            int[] targets,
+            double[] rates,
+            int[] edgeSymbols,
+            boolean[] reverse,
+            long snapshotVersion
+    ) {
+        this.assets = assets;
+        this.assetIds = assetIds;
+        this.symbols = symbols;
+        this.symbolInfos = symbolInfos;
+        this.offsets = offsets;
+        this.sources = sources;
+        this.targets = targets;
+        this.rates = rates;
+        this.edgeSymbols = edgeSymbols;
+        this.reverse = reverse;
+        this.logRates = new double[rates.length];
+        this.bids = new double[symbols.length];
+        this.asks = new double[symbols.length];
+        this.feeFactors = new double[symbols.length];
+        this.liquidity = new AtomicReference<>(new Liquidity(new double[symbols.length]));
+        this.cycleAssets = new ConcurrentHashMap<>();
+        this.snapshotVersion = snapshotVersion;
+        this.symbolIds = new HashMap<>(symbols.length * 2);
+        for (int sym = 0; sym < symbols.length; sym++) {
+            symbolIds.put(symbols[sym], sym);
+        }
+        for (int sym = 0; sym < symbols.length; sym++) {
+            feeFactors[sym] = 1.0 - symbolInfos[sym].getTakerFee();
+        }
+        for (int e = 0; e < rates.length; e++) {
+            logRates[e] = Math.log(rates[e]);
+            int sym = edgeSymbols[e];
+            if (reverse[e]) {
+                // Sell edge rate is bid less fee
+                bids[sym] = rates[e] / feeFactors[sym];
+            } else {
+                // Buy edge rate is fee-reduced reciprocal of ask
+                asks[sym] = feeFactors[sym] / rates[e];
+            }
+        }
+    }
+
+    /**
+     * Same topology priced with other quotes
+     */
+    private TradingGraph(TradingGraph topology, double[] bids, double[] asks, long snapshotVersion) {
+        this.assets = topology.assets;
+        this.assetIds = topology.assetIds;
+        this.symbols = topology.symbols;
+        this.symbolIds = topology.symbolIds;
+        this.symbolInfos = topology.symbolInfos;
+        this.offsets = topology.offsets;
+        this.sources = topology.sources;
+        this.targets = topology.targets;
+        this.edgeSymbols = topology.edgeSymbols;
+        this.reverse = topology.reverse;
+        this.feeFactors = topology.feeFactors;
+        this.liquidity = topology.liquidity;
+        this.cycleAssets = topology.cycleAssets;
+        this.bids = bids;
+        this.asks = asks;
+        this.snapshotVersion = snapshotVersion;
+        this.rates = new double[targets.length];
+        this.logRates = new double[targets.length];
+        for (int e = 0; e < targets.length; e++) {
+            int sym = edgeSymbols[e];
+            rates[e] = reverse[e] ? bids[sym] * feeFactors[sym] : feeFactors[sym] / asks[sym];
+            logRates[e] = Math.log(rates[e]);
+        }
+    }
+
+    /**
+     * Build trading graph from pairs of market snapshot
+     *
+     * Pairs without registry metadata or without a bid and ask are skipped.
+     */
+    static TradingGraph build(ExchangeGateway exchangeGateway, SymbolRegistry symbolRegistry, MarketSnapshot snapshot) {
+        Builder builder = new Builder();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            String symbol = snapshot.symbol(i);
+            SymbolInfo info = symbolRegistry.find(symbol);
+            if (info == null) {
+                log.warn("No symbol metadata for {}, skipping pair", symbol);
+                continue;
+            }
+
+            double bid = snapshot.bid(i);
+            double ask = snapshot.ask(i);
+            if (bid <= 0 || ask <= 0) {
+                continue;
+            }
+
+            builder.addPair(info, bid, ask);
+        }
+
+        TradingGraph graph = builder.build(snapshot.getVersion());
+        graph.updateQuoteVolumes(exchangeGateway);
+
+        log.info("Built trading graph with {} assets and {} pairs",
+                graph.assetCount(), snapshot.size());
+
+        return graph;
+    }
+
+    /**
+     * Graph of same topology priced from snapshot
+     *
+     * Symbols missing from the snapshot (or without a positive bid and ask) keep their last known quotes.
+     */
+    TradingGraph withPrices(MarketSnapshot snapshot) {
+        double[] snapshotBids = bids.clone();
+        double[] snapshotAsks = asks.clone();
+        for (int sym = 0; sym < symbols.length; sym++) {
+            int i = snapshot.indexOf(symbols[sym]);
+            if (i >= 0 && snapshot.bid(i) > 0 && snapshot.ask(i) > 0) {
+                snapshotBids[sym] = snapshot.bid(i);
+                snapshotAsks[sym] = snapshot.ask(i);
+            }
+        }
+        return new TradingGraph(this, snapshotBids, snapshotAsks, snapshot.getVersion());
+    }
+
+    /**
+     * @return true if both graphs share assets, pairs and edge layout
+     */
+    boolean hasSameTopology(TradingGraph other) {
+        return other != null && offsets == other.offsets;
+    }
+
+    /**
+     * @return Version of market snapshot edge rates were computed from
+     */
+    long snapshotVersion() {
+        return snapshotVersion;
+    }
+
+    static double quoteVolume(ExchangeGateway exchangeGateway, String symbol) {
+        try {
+            return exchangeGateway.get24hQuoteVolume(symbol);
+        } catch (Exception e) {
+            log.warn("Failed to get 24h volume for {}: {}", symbol, e.getMessage());
+            return 0.0;
+        }
+    }
+
+    int assetCount() {
+        return assets.length;
+    }
+
+    int edgeCount() {
+        return targets.length;
+    }
+
+    int symbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * @return Symbol id or -1 if symbol is not part of the graph
+     */
+    int symbolIndex(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    String symbolName(int symbolId) {
+        return symbols[symbolId];
+    }
+
+    /**
+     * @return Exchange metadata (assets, lot filters, precision) of symbol
+     */
+    SymbolInfo symbolInfo(int symbolId) {
+        return symbolInfos[symbolId];
+    }
+
+    /**
+     * @return Mid price of symbol the edges were computed from
+     */
+    double price(int symbolId) {
+        return (bids[symbolId] + asks[symbolId]) / 2.0;
+    }
+
+    /**
+     * @return Best bid of symbol, sell edges were computed from it
+     */
+    double bid(int symbolId) {
+        return bids[symbolId];
+    }
+
+    /**
+     * @return Best ask of symbol, buy edges were computed from it
+     */
+    double ask(int symbolId) {
+        return asks[symbolId];
+    }
+
+    /**
+     * @return 24h volume of symbol in its quote asset
+     */
+    double quoteVolume(int symbolId) {
+        return liquidity.get().quoteVolumes[symbolId];
+    }
+
+    /**
+     * Reload 24h volumes of all symbols and publish them with empty liquidity rankings
+     */
+    void updateQuoteVolumes(ExchangeGateway exchangeGateway) {
+        double[] quoteVolumes = new double[symbols.length];
+        for (int sym = 0; sym < symbols.length; sym++) {
+            quoteVolumes[sym] = Math.max(quoteVolume(exchangeGateway, symbols[sym]), 0.0);
+        }
+        liquidity.set(new Liquidity(quoteVolumes));
+    }
+
+    /**
+     * @return Asset id or -1 if asset is not part of the graph
+     */
+    int assetId(String asset) {
+        Integer id = assetIds.get(asset);
+        return id != null ? id : -1;
+    }
+
+    String asset(int assetId) {
+        return assets[assetId];
+    }
+
+    int edgeStart(int assetId) {
+        return offsets[assetId];
+    }
+
+    int edgeEnd(int assetId) {
+        return offsets[assetId + 1];
+    }
+
+    int source(int edge) {
+        return sources[edge];
+    }
+
+    int target(int edge) {
+        return targets[edge];
+    }
+
+    double rate(int edge) {
+        return rates[edge];
+    }
+
+    /**
+     * @return Natural logarithm of edge rate (cycle is profitable when the sum is positive)
+     */
+    double logRate(int edge) {
+        return logRates[edge];
+    }
+
+    /**
+     * Outgoing edges ordered best rate first
+     *
+     * {@code edgesByRate()[i]} for i in {@code edgeStart(a) .. edgeEnd(a) - 1}
+     * are the outgoing edges of asset a, highest log-rate first (ties by edge id).
+     *
+     * @return Shared permutation of edge ids, callers must not modify it
+     */
+    int[] edgesByRate() {
+        int[] order = edgesByRate;
+        if (order == null) {
+            order = new int[targets.length];
+            for (int a = 0; a < assets.length; a++) {
+                int[] sorted = IntStream.range(offsets[a], offsets[a + 1])
+                        .boxed()
+                        .sorted(Comparator.<Integer>comparingDouble(e -> -logRates[e]).thenComparingInt(e -> e))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                System.arraycopy(sorted, 0, order, offsets[a], sorted.length);
+            }
+            edgesByRate = order;
+        }
+        return order;
+    }
+
+    /**
+     * @return Log-rates of all edges indexed by edge id, shared array that callers must not modify
+     */
+    double[] logRates() {
+        return logRates;
+    }
+
+    int symbolId(int edge) {
+        return edgeSymbols[edge];
+    }
+
+    String symbol(int edge) {
+        return symbols[edgeSymbols[edge]];
+    }
+
+    /**
+     * @return true for sell edges (base asset to quote asset)
+     */
+    boolean isReverse(int edge) {
+        return reverse[edge];
+    }
+
+    /**
+     * Select top N most liquid assets
+     *
+     * Takes the maxAssets - 1 neighbours of the base asset with the highest
+     * 24h volume against it (see {@link #liquidityRanking(int)}). For chains of
+     * at least 3 legs neighbours that cannot lie on such a cycle (see
+     * {@link #cycleAssets(int)}) are skipped and do not take a slot.
+     *
+     * @return Bitset over asset ids, always containing the base asset
+     */
+    BitSet selectTopAssets(int baseAsset, int maxAssets, int chainLength) {
+        BitSet assetSet = new BitSet(assets.length);
+        if (baseAsset < 0) {
+            return assetSet;
+        }
+        assetSet.set(baseAsset);
+
+        BitSet viable = chainLength >= 3 ? cycleAssets(baseAsset) : null;
+        int[] ranking = liquidityRanking(baseAsset);
+        int selected = 0;
+        for (int i = 0; i < ranking.length && selected < maxAssets - 1; i++) {
+            if (viable == null || viable.get(ranking[i])) {
+                assetSet.set(ranking[i]);
+                selected++;
+            }
+        }
+
+        return assetSet;
+    }
+
+    /**
+     * Assets that can lie on a simple cycle of at least 3 legs through base asset
+     *
+     * Strongly connected component of the base asset (reachable from it and
+     * able to reach it) with dead ends peeled off: an asset other than the base
+     * needs two distinct neighbours within the set to be passed through.
+     * Depends on topology only and is computed once per base asset.
+     *
+     * @return Shared bitset over asset ids, callers must not modify it
+     */
+    BitSet cycleAssets(int baseAsset) {
+        return cycleAssets.computeIfAbsent(baseAsset, this::findCycleAssets);
+    }
+
+    private BitSet findCycleAssets(int baseAsset) {
+        // Forward reachability by worklist over outgoing edges
+        BitSet reachable = new BitSet(assets.length);
+        reachable.set(baseAsset);
+        int[] queue = new int[assets.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = baseAsset;
+        while (head < tail) {
+            int a = queue[head++];
+            for (int e = offsets[a]; e < offsets[a + 1]; e++) {
+                if (!reachable.get(targets[e])) {
+                    reachable.set(targets[e]);
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+
+        // Backward reachability within it, edges are not indexed by target so relax to a fixpoint
+        BitSet component = new BitSet(assets.length);
+        component.set(baseAsset);
+        boolean grown = true;
+        while (grown) {
+            grown = false;
+            for (int e = 0; e < targets.length; e++) {
+                if (component.get(targets[e]) && reachable.get(sources[e]) && !component.get(sources[e])) {
+                    component.set(sources[e]);
+                    grown = true;
+                }
+            }
+        }
+
+        // Peel assets with fewer than two distinct neighbours until none is left
+        int[] seen = new int[assets.length];
+        int stamp = 0;
+        boolean peeled = true;
+        while (peeled) {
+            peeled = false;
+            for (int a = component.nextSetBit(0); a >= 0; a = component.nextSetBit(a + 1)) {
+                if (a == baseAsset) {
+                    continue;
+                }
+                int neighbours = 0;
+                stamp++;
+                for (int e = offsets[a]; e < offsets[a + 1] && neighbours < 2; e++) {
+                    int next = targets[e];
+                    if (next != a && component.get(next) && seen[next] != stamp) {
+                        seen[next] = stamp;
+                        neighbours++;
+                    }
+                }
+                if (neighbours < 2) {
+                    component.clear(a);
+                    peeled = true;
+                }
+            }
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("{} of {} assets can lie on a cycle through {}", component.cardinality(), assets.length, assets[baseAsset]);
+        }
+        return component;
+    }
+
+    /**
+     * Neighbours of base asset ordered by traded volume against it, most liquid first
+     *
+     * Volume of every pair is expressed in base asset units (quote volume as is
+     * when the base asset is the quote, divided by the pair price otherwise),
+     * so pairs quoted in different assets are comparable. Equal volumes keep
+     * CSR order. Cached until the next volume reload or topology rebuild.
+     */
+    int[] liquidityRanking(int baseAsset) {
+        Liquidity current = liquidity.get();
+        return current.rankings.computeIfAbsent(baseAsset, base -> rankNeighbours(base, current.quoteVolumes));
+    }
+
+    private int[] rankNeighbours(int baseAsset, double[] quoteVolumes) {
+        Map<Integer, Double> liquidity = new LinkedHashMap<>();
+        for (int e = offsets[baseAsset]; e < offsets[baseAsset + 1]; e++) {
+            // Sell edges start at the pair's base asset, their quote volume is converted at the pair price
+            int sym = edgeSymbols[e];
+            double volume = reverse[e] ? quoteVolumes[sym] / price(sym) : quoteVolumes[sym];
+            liquidity.merge(targets[e], volume, Double::sum);
+        }
+        liquidity.remove(baseAsset);
+
+        return liquidity.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    /**
+     * Resolve asset codes of bitset (for logging and API responses)
+     */
+    List<String> assetNames(BitSet assetSet) {
+        List<String> names = new ArrayList<>(assetSet.cardinality());
+        for (int a = assetSet.nextSetBit(0); a >= 0; a = assetSet.nextSetBit(a + 1)) {
+            names.add(assets[a]);
+        }
+        return names;
+    }
+
+    /**
+     * 24h quote volumes of one reload and the rankings computed from them
+     */
+    private static final class Liquidity {
+        final double[] quoteVolumes;
+        final Map<Integer, int[]> rankings = new ConcurrentHashMap<>();
+
+        Liquidity(double[] quoteVolumes) {
+            this.quoteVolumes = quoteVolumes;
+        }
+    }
+
+    /**
+     * Collects pairs and interns assets, then lays edges out in CSR order
+     */
+    static final class Builder {
+        private final Map<String, Integer> assetIds = new HashMap<>();
+        private final List<String> assets = new ArrayList<>();
+        private final List<SymbolInfo> symbols = new ArrayList<>();
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] rate = new double[16];
+        private int[] symbolId = new int[16];
+        private boolean[] reverse = new boolean[16];
+        private int size;
+
+        /**
+         * Add pair quoted at one price (no spread) as two edges
+         *
+         * @param price Price of base asset in quote asset
+         */
+        Builder addPair(SymbolInfo info, double price) {
+            return addPair(info, price, price);
+        }
+
+        /**
+         * Add pair as two edges, buying at the ask and selling at the bid
+         *
+         * @param bid Best bid of base asset in quote asset
+         * @param ask Best ask of base asset in quote asset
+         */
+        Builder addPair(SymbolInfo info, double bid, double ask) {
+            int baseId = intern(info.getBaseAsset());
+            int quoteId = intern(info.getQuoteAsset());
+            int sym = symbols.size();
+            symbols.add(info);
+            double feeFactor = 1.0 - info.getTakerFee();
+
+            // Add edge for buying base asset with quote asset at the ask
+            // E.g., BTCUSDT asked @ 50010 with 0.1% fee means: 1 USDT → 0.999/50010 BTC
+            add(quoteId, baseId, sym, feeFactor / ask, false);
+
+            // Add reverse edge for selling at the bid
+            // E.g., selling BTC for USDT bid @ 49990: 1 BTC → 49990 * 0.999 USDT
+            add(baseId, quoteId, sym, bid * feeFactor, true);
+            return this;
+        }
+
+        private int intern(String asset) {
+            return assetIds.computeIfAbsent(asset, a -> {
+                assets.add(a);
+                return assets.size() - 1;
+            });
+        }
+
+        private void add(int source, int target, int sym, double edgeRate, boolean isReverse) {
+            if (size == from.length) {
+                int capacity = size * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                rate = Arrays.copyOf(rate, capacity);
+                symbolId = Arrays.copyOf(symbolId, capacity);
+                reverse = Arrays.copyOf(reverse, capacity);
+            }
+            from[size] = source;
+            to[size] = target;
+            rate[size] = edgeRate;
+            symbolId[size] = sym;
+            reverse[size] = isReverse;
+            size++;
+        }
+
+        TradingGraph build() {
+            return build(0L);
+        }
+
+        TradingGraph build(long snapshotVersion) {
+            int n = assets.size();
+
+            // Counting sort of edges by source asset, keeping insertion order per asset
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < size; e++) {
+                offsets[from[e] + 1]++;
+            }
+            for (int a = 0; a < n; a++) {
+                offsets[a + 1] += offsets[a];
+            }
+
+            int[] cursor = Arrays.copyOf(offsets, n);
+            int[] sources = new int[size];
+            int[] targets = new int[size];
+            double[] rates = new double[size];
+            int[] edgeSymbols = new int[size];
+            boolean[] reverseFlags = new boolean[size];
+            for (int e = 0; e < size; e++) {
+                int slot = cursor[from[e]]++;
+                sources[slot] = from[e];
+                targets[slot] = to[e];
+                rates[slot] = rate[e];
+                edgeSymbols[slot] = symbolId[e];
+                reverseFlags[slot] = reverse[e];
+            }
+
+            return new TradingGraph(
+                    assets.toArray(new String[0]),
+                    Map.copyOf(assetIds),
+                    symbols.stream().map(SymbolInfo::getSymbol).toArray(String[]::new),
+                    symbols.toArray(new SymbolInfo[0]),
+                    offsets, sources, targets, rates, edgeSymbols, reverseFlags, snapshotVersion);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import java.util.BitSet;
+
+/**
+ * Triangular cycle detection by neighbourhood intersection
+ *
+ * Every asset's out- and in-neighbourhood is kept as a bitset of 64-bit words
+ * over interned asset ids. For base B and a first hop B -> X, the possible
+ * third assets are {@code out(X) & in(B) & allowed}, one AND per word, so
+ * first hops without any triangle are skipped without touching their edges.
+ * Only the surviving (X, Y) pairs are expanded to edge triples.
+ *
+ * Masks depend on topology only and are shared by all snapshots of a graph.
+ * Triangles are offered in the order of the per-scan DFS (edges of B, then of
+ * X, then of Y in CSR order), so results are identical to it.
+ */
+final class TriangleDetector {
+
+    private final int words;
+    private final long[][] outMasks;
+    private final long[][] inMasks;
+
+    TriangleDetector(TradingGraph graph) {
+        int n = graph.assetCount();
+        this.words = (n + Long.SIZE - 1) / Long.SIZE;
+        this.outMasks = new long[n][words];
+        this.inMasks = new long[n][words];
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int from = graph.source(e);
+            int to = graph.target(e);
+            outMasks[from][to >>> 6] |= 1L << to;
+            inMasks[to][from >>> 6] |= 1L << from;
+        }
+    }
+
+    /**
+     * Best triangles through base asset
+     *
+     * @return Edge paths with log-profit of at least minLogProfit
+     */
+    TopCycles find(TradingGraph graph, int base, BitSet allowedAssets, double minLogProfit, int limit) {
+        TopCycles top = new TopCycles(limit, 3);
+        long[] allowed = new long[words];
+        long[] allowedWords = allowedAssets.toLongArray();
+        System.arraycopy(allowedWords, 0, allowed, 0, Math.min(words, allowedWords.length));
+
+        // Assets that can close a triangle back into base
+        long[] closing = new long[words];
+        for (int w = 0; w < words; w++) {
+            closing[w] = inMasks[base][w] & allowed[w];
+        }
+        closing[base >>> 6] &= ~(1L << base);
+
+        long[] candidates = new long[words];
+        int[] path = new int[3];
+        for (int first = graph.edgeStart(base); first < graph.edgeEnd(base); first++) {
+            int x = graph.target(first);
+            if (x == base || !allowedAssets.get(x)) {
+                continue;
+            }
+
+            for (int w = 0; w < words; w++) {
+                candidates[w] = outMasks[x][w] & closing[w];
+            }
+            candidates[x >>> 6] &= ~(1L << x);
+            if (isEmpty(candidates)) {
+                continue;
+            }
+
+            double firstLog = graph.logRate(first);
+            path[0] = first;
+            for (int second = graph.edgeStart(x); second < graph.edgeEnd(x); second++) {
+                int y = graph.target(second);
+                if ((candidates[y >>> 6] & (1L << y)) == 0) {
+                    continue;
+                }
+                double twoLegs = firstLog + graph.logRate(second);
+                path[1] = second;
+                for (int third = graph.edgeStart(y); third < graph.edgeEnd(y); third++) {
+                    if (graph.target(third) != base) {
+                        continue;
+                    }
+                    double logProfit = twoLegs + graph.logRate(third);
+                    if (logProfit >= minLogProfit && logProfit > top.threshold()) {
+                        path[2] = third;
+                        top.offer(logProfit, path);
+                    }
+                }
+            }
+        }
+        return top;
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
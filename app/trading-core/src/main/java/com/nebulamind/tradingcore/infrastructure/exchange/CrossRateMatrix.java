@@ -0,0 +1,301 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.CurrencyConverter;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conversion rates between all assets of the market, kept as a dense matrix
+ *
+ * Every asset converts into every other along a shortest path of pairs (fewest
+ * conversions, each one adds price error), chosen once per topology by a BFS
+ * from each asset. Rates are products of mid prices along that path, so
+ * {@link #convert} is one array lookup.
+ *
+ * The matrix follows the market snapshot: a new snapshot version recomputes
+ * only the rows whose conversion tree uses a repriced pair, unchanged rows are
+ * shared with the previous matrix. Every matrix instance is immutable, readers
+ * never see a half-updated row.
+ */
+@Component
+@Slf4j
+public class CrossRateMatrix implements CurrencyConverter {
+
+    private final ExchangeGateway exchangeGateway;
+    private final SymbolRegistry symbolRegistry;
+    private volatile Rates rates;
+
+    public CrossRateMatrix(ExchangeGateway exchangeGateway, SymbolRegistry symbolRegistry) {
+        this.exchangeGateway = exchangeGateway;
+        this.symbolRegistry = symbolRegistry;
+    }
+
+    @Override
+    public double convert(double amount, String fromAsset, String toAsset) {
+        if (fromAsset.equals(toAsset)) {
+            return amount;
+        }
+        double rate = current().rate(fromAsset, toAsset);
+        if (Double.isNaN(rate)) {
+            throw new IllegalArgumentException("No conversion path from " + fromAsset + " to " + toAsset);
+        }
+        return amount * rate;
+    }
+
+    @Override
+    public boolean canConvert(String fromAsset, String toAsset) {
+        return fromAsset.equals(toAsset) || !Double.isNaN(current().rate(fromAsset, toAsset));
+    }
+
+    /**
+     * Matrix of the current market snapshot
+     */
+    Rates current() {
+        MarketSnapshot snapshot = exchangeGateway.getMarketSnapshot();
+        Rates current = rates;
+        if (current != null && current.version == snapshot.getVersion()) {
+            return current;
+        }
+        return refresh(snapshot);
+    }
+
+    private synchronized Rates refresh(MarketSnapshot snapshot) {
+        Rates current = rates;
+        if (current != null && current.version == snapshot.getVersion()) {
+            return current;
+        }
+
+        List<String> symbols = snapshot.getSymbols();
+        if (current == null || !current.topology.symbolSet.equals(new HashSet<>(symbols))) {
+            // Newly listed pairs need their metadata before they can become conversions
+            symbolRegistry.reloadIfMissing(symbols);
+            Topology topology = Topology.build(symbols, symbolRegistry);
+            rates = Rates.build(topology, snapshot);
+            log.info("Cross-rate matrix rebuilt for {} assets and {} pairs",
+                    topology.assets.length, topology.symbols.length);
+        } else {
+            rates = current.withPrices(snapshot);
+        }
+        return rates;
+    }
+
+    /**
+     * Assets, pairs and the shortest-path conversion tree of every asset
+     */
+    static final class Topology {
+        final String[] assets;
+        final Map<String, Integer> assetIds;
+        final String[] symbols;
+        final Set<String> symbolSet;  // All snapshot symbols the topology was built from, known or not
+        final int[] baseAssets;
+        final int[] quoteAssets;
+
+        // Per source asset: reachable assets in BFS order and the edge reaching each asset
+        // (edge = pair * 2, +1 when the pair is sold, i.e. traversed from its base asset)
+        final int[][] orders;
+        final int[][] parentEdges;
+
+        // Rows whose conversion tree uses a pair, per pair
+        final int[][] rowsBySymbol;
+
+        private Topology(
+                String[] assets,
+                Map<String, Integer> assetIds,
+                String[] symbols,
+                Set<String> symbolSet,
+                int[] baseAssets,
+                int[] quoteAssets
+        ) {
+            this.assets = assets;
+            this.assetIds = assetIds;
+            this.symbols = symbols;
+            this.symbolSet = symbolSet;
+            this.baseAssets = baseAssets;
+            this.quoteAssets = quoteAssets;
+
+            int n = assets.length;
+            List<List<Integer>> adjacency = new ArrayList<>(n);
+            for (int a = 0; a < n; a++) {
+                adjacency.add(new ArrayList<>());
+            }
+            for (int p = 0; p < symbols.length; p++) {
+                adjacency.get(quoteAssets[p]).add(p * 2);
+                adjacency.get(baseAssets[p]).add(p * 2 + 1);
+            }
+
+            this.orders = new int[n][];
+            this.parentEdges = new int[n][];
+            List<List<Integer>> rows = new ArrayList<>(symbols.length);
+            for (int p = 0; p < symbols.length; p++) {
+                rows.add(new ArrayList<>());
+            }
+            int[] lastRow = new int[symbols.length];
+            Arrays.fill(lastRow, -1);
+            for (int s = 0; s < n; s++) {
+                int[] parents = new int[n];
+                Arrays.fill(parents, -1);
+                int[] order = new int[n];
+                int size = 0;
+                BitSet seen = new BitSet(n);
+                seen.set(s);
+                ArrayDeque<Integer> queue = new ArrayDeque<>();
+                queue.add(s);
+                while (!queue.isEmpty()) {
+                    int a = queue.poll();
+                    for (int edge : adjacency.get(a)) {
+                        int target = target(edge);
+                        if (!seen.get(target)) {
+                            seen.set(target);
+                            parents[target] = edge;
+                            order[size++] = target;
+                            queue.add(target);
+                            int p = edge >>> 1;
+                            if (lastRow[p] != s) {
+                                lastRow[p] = s;
+                                rows.get(p).add(s);
+                            }
+                        }
+                    }
+                }
+                orders[s] = Arrays.copyOf(order, size);
+                parentEdges[s] = parents;
+            }
+            this.rowsBySymbol = rows.stream()
+                    .map(list -> list.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+        }
+
+        /**
+         * Pairs of snapshot symbols with registry metadata, unknown symbols are skipped
+         */
+        static Topology build(List<String> snapshotSymbols, SymbolRegistry symbolRegistry) {
+            Map<String, Integer> assetIds = new HashMap<>();
+            List<String> assets = new ArrayList<>();
+            List<String> symbols = new ArrayList<>();
+            List<int[]> pairs = new ArrayList<>();
+            for (String symbol : snapshotSymbols) {
+                SymbolInfo info = symbolRegistry.find(symbol);
+                if (info == null) {
+                    continue;
+                }
+                symbols.add(symbol);
+                pairs.add(new int[]{intern(info.getBaseAsset(), assetIds, assets), intern(info.getQuoteAsset(), assetIds, assets)});
+            }
+            return new Topology(
+                    assets.toArray(new String[0]),
+                    Map.copyOf(assetIds),
+                    symbols.toArray(new String[0]),
+                    Set.copyOf(snapshotSymbols),
+                    pairs.stream().mapToInt(pair -> pair[0]).toArray(),
+                    pairs.stream().mapToInt(pair -> pair[1]).toArray());
+        }
+
+        private static int intern(String asset, Map<String, Integer> assetIds, List<String> assets) {
+            return assetIds.computeIfAbsent(asset, a -> {
+                assets.add(a);
+                return assets.size() - 1;
+            });
+        }
+
+        int source(int edge) {
+            int p = edge >>> 1;
+            return (edge & 1) == 0 ? quoteAssets[p] : baseAssets[p];
+        }
+
+        int target(int edge) {
+            int p = edge >>> 1;
+            return (edge & 1) == 0 ? baseAssets[p] : quoteAssets[p];
+        }
+    }
+
+    /**
+     * Conversion matrix of one snapshot
+     */
+    static final class Rates {
+        final Topology topology;
+        final long version;
+        final double[] prices;
+        final double[][] rows;
+
+        private Rates(Topology topology, long version, double[] prices, double[][] rows) {
+            this.topology = topology;
+            this.version = version;
+            this.prices = prices;
+            this.rows = rows;
+        }
+
+        static Rates build(Topology topology, MarketSnapshot snapshot) {
+            double[] prices = new double[topology.symbols.length];
+            for (int p = 0; p < prices.length; p++) {
+                prices[p] = snapshot.price(topology.symbols[p]);
+            }
+            Rates rates = new Rates(topology, snapshot.getVersion(), prices, new double[topology.assets.length][]);
+            for (int s = 0; s < rates.rows.length; s++) {
+                rates.rows[s] = rates.computeRow(s);
+            }
+            return rates;
+        }
+
+        /**
+         * Same topology at prices of snapshot, recomputing only rows that use a repriced pair
+         *
+         * Pairs missing from the snapshot (or without a positive price) keep their last known price.
+         */
+        Rates withPrices(MarketSnapshot snapshot) {
+            double[] snapshotPrices = prices.clone();
+            BitSet stale = new BitSet(rows.length);
+            for (int p = 0; p < snapshotPrices.length; p++) {
+                double price = snapshot.price(topology.symbols[p]);
+                if (price > 0 && price != snapshotPrices[p]) {
+                    snapshotPrices[p] = price;
+                    for (int row : topology.rowsBySymbol[p]) {
+                        stale.set(row);
+                    }
+                }
+            }
+
+            Rates repriced = new Rates(topology, snapshot.getVersion(), snapshotPrices, rows.clone());
+            for (int s = stale.nextSetBit(0); s >= 0; s = stale.nextSetBit(s + 1)) {
+                repriced.rows[s] = repriced.computeRow(s);
+            }
+            return repriced;
+        }
+
+        /**
+         * @return Units of toAsset per unit of fromAsset, NaN if not convertible
+         */
+        double rate(String fromAsset, String toAsset) {
+            Integer from = topology.assetIds.get(fromAsset);
+            Integer to = topology.assetIds.get(toAsset);
+            return from != null && to != null ? rows[from][to] : Double.NaN;
+        }
+
+        private double[] computeRow(int source) {
+            double[] row = new double[topology.assets.length];
+            Arrays.fill(row, Double.NaN);
+            row[source] = 1.0;
+            int[] parents = topology.parentEdges[source];
+            for (int asset : topology.orders[source]) {
+                int edge = parents[asset];
+                double price = prices[edge >>> 1];
+                // Quote converts to base at 1 / price, base to quote at price
+                double rate = price > 0 ? ((edge & 1) == 0 ? 1.0 / price : price) : Double.NaN;
+                row[asset] = row[topology.source(edge)] * rate;
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+
+import java.util.function.Function;
+
+/**
+ * Maker/taker fees per symbol resolved from the configured schedule
+ *
+ * A symbol override wins over the active tier, the tier over the global
+ * rates. Each rate is resolved on its own, so an override may set only one of them.
+ */
+public class FeeSchedule {
+
+    private final NebulaMindProperties.Fees fees;
+
+    public FeeSchedule(NebulaMindProperties.Fees fees) {
+        this.fees = fees;
+    }
+
+    /**
+     * @return Maker fee as fraction of traded value (0.001 = 0.1%)
+     */
+    public double makerFee(String symbol) {
+        return resolve(symbol, NebulaMindProperties.FeeRate::getMakerPct, fees.getMakerPct()) / 100.0;
+    }
+
+    /**
+     * @return Taker fee as fraction of traded value (0.001 = 0.1%)
+     */
+    public double takerFee(String symbol) {
+        return resolve(symbol, NebulaMindProperties.FeeRate::getTakerPct, fees.getTakerPct()) / 100.0;
+    }
+
+    private double resolve(String symbol, Function<NebulaMindProperties.FeeRate, Double> rate, double global) {
+        NebulaMindProperties.FeeRate symbolRate = fees.getSymbols().get(symbol);
+        if (symbolRate != null && rate.apply(symbolRate) != null) {
+            return rate.apply(symbolRate);
+        }
+        NebulaMindProperties.FeeRate tierRate = fees.getTier() != null ? fees.getTiers().get(fees.getTier()) : null;
+        if (tierRate != null && rate.apply(tierRate) != null) {
+            return rate.apply(tierRate);
+        }
+        return global;
+    }
+}
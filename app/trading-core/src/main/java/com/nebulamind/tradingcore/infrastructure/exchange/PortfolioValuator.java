@@ -0,0 +1,56 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.domain.model.Portfolio;
+import com.nebulamind.tradingcore.domain.model.Position;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.CurrencyConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Values portfolios in their own currency at current cross rates
+ *
+ * Gateways price positions in the quote asset of their pair, so their equity
+ * mixes currencies once pairs are quoted in different assets. Risk checks and
+ * portfolio views value the same way through this class. The gateway's
+ * portfolio is never modified, a valued copy is returned.
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioValuator {
+
+    private final SymbolRegistry symbolRegistry;
+    private final CurrencyConverter currencyConverter;
+
+    /**
+     * @return Copy of portfolio with total equity in portfolio currency (as is without a currency)
+     */
+    public Portfolio value(Portfolio portfolio) {
+        Portfolio valued = Portfolio.builder()
+                .accountId(portfolio.getAccountId())
+                .totalEquity(portfolio.getTotalEquity())
+                .freeBalance(portfolio.getFreeBalance())
+                .lockedBalance(portfolio.getLockedBalance())
+                .currency(portfolio.getCurrency())
+                .timestamp(portfolio.getTimestamp())
+                .positions(new ArrayList<>(portfolio.getPositions()))
+                .build();
+        if (valued.getCurrency() != null) {
+            valued.calculateEquity(position -> valueOf(position, valued.getCurrency()));
+        }
+        return valued;
+    }
+
+    /**
+     * Position quantity converted into currency, quantity * current price if the pair cannot be converted
+     */
+    public double valueOf(Position position, String currency) {
+        SymbolInfo info = symbolRegistry.find(position.getSymbol());
+        if (info == null || !currencyConverter.canConvert(info.getBaseAsset(), currency)) {
+            return position.getQuantity() * position.getCurrentPrice();
+        }
+        return currencyConverter.convert(position.getQuantity(), info.getBaseAsset(), currency);
+    }
+}
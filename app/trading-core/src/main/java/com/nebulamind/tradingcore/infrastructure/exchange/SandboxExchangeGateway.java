@@ -1,16 +1,20 @@
 package com.nebulamind.tradingcore.infrastructure.exchange;
 
 import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
 import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.OrderBook;
 import com.nebulamind.tradingcore.domain.model.Portfolio;
 import com.nebulamind.tradingcore.domain.model.Position;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
 import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,61 +26,142 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Component
 @ConditionalOnProperty(name = "nebulamind.exchange.type", havingValue = "sandbox")
-@RequiredArgsConstructor
 @Slf4j
 public class SandboxExchangeGateway implements ExchangeGateway {
 
     private final NebulaMindProperties properties;
+    private final FeeSchedule feeSchedule;
     
     // In-memory storage
     private final Map<String, Order> orders = new ConcurrentHashMap<>();
     private Portfolio portfolio;
     
+    // Lot step per base asset and min order value per quote asset of simulated pairs
+    private static final Map<String, Double> LOT_STEPS = Map.of(
+            "BTC", 0.00001, "ETH", 0.0001, "BNB", 0.001, "SOL", 0.01, "LTC", 0.001,
+            "DOT", 0.01, "ADA", 0.1, "XRP", 0.1, "MATIC", 0.1, "DOGE", 1.0);
+    private static final Map<String, Double> MIN_NOTIONALS = Map.of(
+            "USDT", 5.0, "BTC", 0.0001, "ETH", 0.001);
+    
+    // Book levels walked by market orders
+    private static final int MARKET_FILL_LEVELS = 50;
+    
     // Simulated prices (would be replaced with mock market data)
-    private final Map<String, Double> prices = initializePrices();
+    private final Map<String, Double> prices = new ConcurrentHashMap<>();
+    private final Map<String, SymbolInfo> symbols = new ConcurrentHashMap<>();
+    
+    // Simulated 24h quote volumes
+    private final Map<String, Double> volumes = initializeVolumes();
+    
+    // Market state of the current tick, replaced when the tick expires or a price is set
+    private volatile MarketSnapshot snapshot;
+    private long snapshotVersion;
+    
+    public SandboxExchangeGateway(NebulaMindProperties properties) {
+        this.properties = properties;
+        this.feeSchedule = new FeeSchedule(properties.getFees());
+        initializeMarkets();
+    }
     
     @jakarta.annotation.PostConstruct
     public void init() {
         portfolio = initializePortfolio();
     }
     
-    private Map<String, Double> initializePrices() {
-        Map<String, Double> priceMap = new ConcurrentHashMap<>();
-        
+    private void initializeMarkets() {
         // USDT pairs
-        priceMap.put("BTCUSDT", 50000.0);
-        priceMap.put("ETHUSDT", 3000.0);
-        priceMap.put("BNBUSDT", 400.0);
-        priceMap.put("ADAUSDT", 0.5);
-        priceMap.put("DOGEUSDT", 0.1);
-        priceMap.put("XRPUSDT", 0.6);
-        priceMap.put("SOLUSDT", 100.0);
-        priceMap.put("DOTUSDT", 7.0);
-        priceMap.put("MATICUSDT", 0.8);
-        priceMap.put("LTCUSDT", 90.0);
+        listPair("BTC", "USDT", 50000.0);
+        listPair("ETH", "USDT", 3000.0);
+        listPair("BNB", "USDT", 400.0);
+        listPair("ADA", "USDT", 0.5);
+        listPair("DOGE", "USDT", 0.1);
+        listPair("XRP", "USDT", 0.6);
+        listPair("SOL", "USDT", 100.0);
+        listPair("DOT", "USDT", 7.0);
+        listPair("MATIC", "USDT", 0.8);
+        listPair("LTC", "USDT", 90.0);
         
         // BTC pairs
-        priceMap.put("ETHBTC", 0.06);      // ETH/BTC
-        priceMap.put("BNBBTC", 0.008);     // BNB/BTC
-        priceMap.put("ADABTC", 0.00001);   // ADA/BTC
-        priceMap.put("DOGEBTC", 0.000002); // DOGE/BTC
-        priceMap.put("XRPBTC", 0.000012);  // XRP/BTC
-        priceMap.put("SOLBTC", 0.002);     // SOL/BTC
-        priceMap.put("DOTBTC", 0.00014);   // DOT/BTC
-        priceMap.put("MATICBTC", 0.000016);// MATIC/BTC
-        priceMap.put("LTCBTC", 0.0018);    // LTC/BTC
+        listPair("ETH", "BTC", 0.06);
+        listPair("BNB", "BTC", 0.008);
+        listPair("ADA", "BTC", 0.00001);
+        listPair("DOGE", "BTC", 0.000002);
+        listPair("XRP", "BTC", 0.000012);
+        listPair("SOL", "BTC", 0.002);
+        listPair("DOT", "BTC", 0.00014);
+        listPair("MATIC", "BTC", 0.000016);
+        listPair("LTC", "BTC", 0.0018);
         
         // ETH pairs
-        priceMap.put("BNBETH", 0.133);     // BNB/ETH
-        priceMap.put("ADAETH", 0.000167);  // ADA/ETH
-        priceMap.put("DOGEETH", 0.000033); // DOGE/ETH
-        priceMap.put("XRPETH", 0.0002);    // XRP/ETH
-        priceMap.put("SOLETH", 0.0333);    // SOL/ETH
-        priceMap.put("DOTETH", 0.00233);   // DOT/ETH
-        priceMap.put("MATICETH", 0.000267);// MATIC/ETH
-        priceMap.put("LTCETH", 0.03);      // LTC/ETH
+        listPair("BNB", "ETH", 0.133);
+        listPair("ADA", "ETH", 0.000167);
+        listPair("DOGE", "ETH", 0.000033);
+        listPair("XRP", "ETH", 0.0002);
+        listPair("SOL", "ETH", 0.0333);
+        listPair("DOT", "ETH", 0.00233);
+        listPair("MATIC", "ETH", 0.000267);
+        listPair("LTC", "ETH", 0.03);
+    }
+
+    /**
+     * List simulated pair with lot filters derived from its assets
+     */
+    private void listPair(String base, String quote, double price) {
+        String symbol = base + quote;
+        double stepSize = LOT_STEPS.getOrDefault(base, 0.001);
+        prices.put(symbol, price);
+        symbols.put(symbol, SymbolInfo.builder()
+                .symbol(symbol)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .stepSize(stepSize)
+                .minQty(stepSize)
+                .maxQty(9_000_000.0)
+                .minNotional(MIN_NOTIONALS.getOrDefault(quote, 0.0))
+                .priceDecimals(Math.min(8, Math.max(2, 6 - (int) Math.floor(Math.log10(price)))))
+                .qtyDecimals((int) Math.round(-Math.log10(stepSize)))
+                .makerFee(feeSchedule.makerFee(symbol))
+                .takerFee(feeSchedule.takerFee(symbol))
+                .build());
+    }
+
+    private Map<String, Double> initializeVolumes() {
+        Map<String, Double> volumeMap = new ConcurrentHashMap<>();
+        
+        // USDT pairs (USDT)
+        volumeMap.put("BTCUSDT", 1_500_000_000.0);
+        volumeMap.put("ETHUSDT", 800_000_000.0);
+        volumeMap.put("SOLUSDT", 350_000_000.0);
+        volumeMap.put("BNBUSDT", 200_000_000.0);
+        volumeMap.put("XRPUSDT", 180_000_000.0);
+        volumeMap.put("DOGEUSDT", 120_000_000.0);
+        volumeMap.put("ADAUSDT", 60_000_000.0);
+        volumeMap.put("LTCUSDT", 40_000_000.0);
+        volumeMap.put("MATICUSDT", 30_000_000.0);
+        volumeMap.put("DOTUSDT", 25_000_000.0);
+        
+        // BTC pairs (BTC)
+        volumeMap.put("ETHBTC", 2_000.0);
+        volumeMap.put("SOLBTC", 600.0);
+        volumeMap.put("BNBBTC", 400.0);
+        volumeMap.put("XRPBTC", 250.0);
+        volumeMap.put("DOGEBTC", 120.0);
+        volumeMap.put("ADABTC", 80.0);
+        volumeMap.put("LTCBTC", 60.0);
+        volumeMap.put("DOTBTC", 30.0);
+        volumeMap.put("MATICBTC", 20.0);
+        
+        // ETH pairs (ETH)
+        volumeMap.put("BNBETH", 3_000.0);
+        volumeMap.put("SOLETH", 2_500.0);
+        volumeMap.put("XRPETH", 900.0);
+        volumeMap.put("LTCETH", 700.0);
+        volumeMap.put("ADAETH", 400.0);
+        volumeMap.put("DOGEETH", 300.0);
+        volumeMap.put("MATICETH", 200.0);
+        volumeMap.put("DOTETH", 150.0);
         
-        return priceMap;
+        return volumeMap;
     }
 
     private Portfolio initializePortfolio() {
@@ -105,14 +190,26 @@ public class SandboxExchangeGateway implements ExchangeGateway {
         }
         order.setOrderId("ORDER_" + System.currentTimeMillis());
         
-        // Get current price
-        double currentPrice = getCurrentPrice(order.getSymbol());
-        double executionPrice = order.getPrice() != null ? order.getPrice() : currentPrice;
+        // Limit orders fill at their price, market orders walk the book
+        double executionPrice = order.getPrice() != null
+                ? order.getPrice()
+                : marketFillPrice(order.getSymbol(), order.getSide(), order.getQuantity());
+        
+        // Fee is charged on the received asset: base for a buy, quote for a sell
+        SymbolInfo info = symbols.get(order.getSymbol());
+        double fee = order.getType() == Order.OrderType.LIMIT
+                ? feeSchedule.makerFee(order.getSymbol())
+                : feeSchedule.takerFee(order.getSymbol());
+        boolean isBuy = order.getSide() == Order.OrderSide.BUY;
         
         // Execute order immediately in sandbox
         order.setStatus(Order.OrderStatus.FILLED);
         order.setExecutedQty(order.getQuantity());
         order.setAvgPrice(executionPrice);
+        order.setCommission((isBuy ? order.getQuantity() : order.getQuantity() * executionPrice) * fee);
+        if (info != null) {
+            order.setCommissionAsset(isBuy ? info.getBaseAsset() : info.getQuoteAsset());
+        }
         order.setCreatedAt(Instant.now());
         order.setUpdatedAt(Instant.now());
         
@@ -122,7 +219,8 @@ public class SandboxExchangeGateway implements ExchangeGateway {
         // Store order
         orders.put(order.getClientOrderId(), order);
         
-        log.info("Sandbox: Order {} executed at price {}", order.getClientOrderId(), executionPrice);
+        log.info("Sandbox: Order {} executed at price {}, commission {} {}",
+                order.getClientOrderId(), executionPrice, order.getCommission(), order.getCommissionAsset());
         return order;
     }
 
@@ -164,12 +262,106 @@ public class SandboxExchangeGateway implements ExchangeGateway {
 
     @Override
     public double getCurrentPrice(String symbol) {
+        double price = getMarketSnapshot().price(symbol);
+        return price > 0 ? price : simulatePrice(1000.0);
+    }
+
+    /**
+     * Prices of all pairs for the current tick
+     * 
+     * Every tick draws one mid price per pair and quotes best bid and ask
+     * spreadPct apart around it, so all reads within a tick (scans,
+     * revalidation, fills) see the same coherent market.
+     */
+    @Override
+    public MarketSnapshot getMarketSnapshot() {
+        MarketSnapshot current = snapshot;
+        long tickMillis = properties.getSandbox().getTickMillis();
+        if (current != null && tickMillis > 0
+                && Instant.now().toEpochMilli() - current.getTimestamp().toEpochMilli() < tickMillis) {
+            return current;
+        }
+        return nextTick(current);
+    }
+
+    /**
+     * Version of the current tick, an expired tick is not replaced here
+     */
+    @Override
+    public long getMarketVersion() {
+        MarketSnapshot current = snapshot;
+        return current != null ? current.getVersion() : 0L;
+    }
+
+    private synchronized MarketSnapshot nextTick(MarketSnapshot expired) {
+        // Another thread may have started the tick already
+        if (snapshot != null && snapshot != expired) {
+            return snapshot;
+        }
+        String[] symbolArray = prices.keySet().toArray(new String[0]);
+        double[] tickPrices = new double[symbolArray.length];
+        double[] bids = new double[symbolArray.length];
+        double[] asks = new double[symbolArray.length];
+        double halfSpread = properties.getSandbox().getSpreadPct() / 200.0;
+        for (int i = 0; i < symbolArray.length; i++) {
+            tickPrices[i] = simulatePrice(prices.get(symbolArray[i]));
+            bids[i] = tickPrices[i] * (1 - halfSpread);
+            asks[i] = tickPrices[i] * (1 + halfSpread);
+        }
+        snapshot = new MarketSnapshot(++snapshotVersion, Instant.now(), symbolArray, tickPrices, bids, asks);
+        return snapshot;
+    }
+
+    private static double simulatePrice(double basePrice) {
         // Simulate price movement with small random variation
-        double basePrice = prices.getOrDefault(symbol, 1000.0);
         double variation = (Math.random() - 0.5) * 0.01; // ±0.5% variation
         return basePrice * (1 + variation);
     }
 
+    /**
+     * Simulated book around current price
+     * 
+     * Levels start at the best bid and ask of the current tick and are spaced
+     * bookLevelSpacingPct apart, each holding bookLevelVolumeShare of the 24h
+     * quote volume (at least 1000 min order values for pairs without volume).
+     */
+    @Override
+    public OrderBook getOrderBook(String symbol, int depth) {
+        MarketSnapshot market = getMarketSnapshot();
+        int index = market.indexOf(symbol);
+        double price = index >= 0 ? market.price(index) : getCurrentPrice(symbol);
+        double bestBid = index >= 0 ? market.bid(index) : price;
+        double bestAsk = index >= 0 ? market.ask(index) : price;
+        double spacing = properties.getSandbox().getBookLevelSpacingPct() / 100.0;
+        SymbolInfo info = symbols.get(symbol);
+        double minNotional = info != null ? info.getMinNotional() : 0.0;
+        double levelValue = Math.max(get24hQuoteVolume(symbol) * properties.getSandbox().getBookLevelVolumeShare(),
+                minNotional * 1000);
+        
+        List<OrderBook.Level> bids = new ArrayList<>(depth);
+        List<OrderBook.Level> asks = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            double bid = bestBid * (1 - spacing * i);
+            double ask = bestAsk * (1 + spacing * i);
+            if (bid > 0) {
+                bids.add(new OrderBook.Level(bid, levelValue / bid));
+            }
+            asks.add(new OrderBook.Level(ask, levelValue / ask));
+        }
+        
+        return OrderBook.builder()
+                .symbol(symbol)
+                .bids(bids)
+                .asks(asks)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @Override
+    public double get24hQuoteVolume(String symbol) {
+        return volumes.getOrDefault(symbol, 0.0);
+    }
+
     @Override
     public boolean isAvailable() {
         return true; // Sandbox is always available
@@ -180,11 +372,42 @@ public class SandboxExchangeGateway implements ExchangeGateway {
         return new java.util.ArrayList<>(prices.keySet());
     }
     
+    @Override
+    public java.util.List<SymbolInfo> getSymbols() {
+        return new java.util.ArrayList<>(symbols.values());
+    }
+    
     @Override
     public boolean isPairActive(String symbol) {
         return prices.containsKey(symbol);
     }
 
+    /**
+     * Average price of market order taking quantity from the book
+     * 
+     * Quantity beyond the simulated depth fills at the last level price.
+     */
+    private double marketFillPrice(String symbol, Order.OrderSide side, double quantity) {
+        OrderBook book = getOrderBook(symbol, MARKET_FILL_LEVELS);
+        List<OrderBook.Level> levels = side == Order.OrderSide.BUY ? book.getAsks() : book.getBids();
+        
+        double remaining = quantity;
+        double cost = 0.0;
+        double lastPrice = levels.get(0).getPrice();
+        for (OrderBook.Level level : levels) {
+            if (remaining <= 0) {
+                break;
+            }
+            double taken = Math.min(remaining, level.getQuantity());
+            cost += taken * level.getPrice();
+            remaining -= taken;
+            lastPrice = level.getPrice();
+        }
+        cost += Math.max(remaining, 0.0) * lastPrice;
+        
+        return quantity > 0 ? cost / quantity : lastPrice;
+    }
+
     /**
      * Update portfolio after trade execution
      */
@@ -195,13 +418,14 @@ public class SandboxExchangeGateway implements ExchangeGateway {
             // Deduct from balance
             portfolio.setFreeBalance(portfolio.getFreeBalance() - tradeValue);
             
-            // Add or update position
+            // Add or update position with quantity received after fee
+            double received = order.getQuantity() - order.getCommission();
             Position position = portfolio.getPosition(order.getSymbol());
             if (position == null) {
                 position = Position.builder()
                         .symbol(order.getSymbol())
                         .side(Position.PositionSide.LONG)
-                        .quantity(order.getQuantity())
+                        .quantity(received)
                         .entryPrice(price)
                         .currentPrice(price)
                         .unrealizedPnL(0.0)
@@ -214,16 +438,16 @@ public class SandboxExchangeGateway implements ExchangeGateway {
                 portfolio.updatePosition(position);
             } else {
                 // Average entry price
-                double totalQty = position.getQuantity() + order.getQuantity();
+                double totalQty = position.getQuantity() + received;
                 double avgEntry = ((position.getEntryPrice() * position.getQuantity()) + 
-                                  (price * order.getQuantity())) / totalQty;
+                                  tradeValue) / totalQty;
                 position.setQuantity(totalQty);
                 position.setEntryPrice(avgEntry);
                 position.setUpdatedAt(Instant.now());
             }
         } else { // SELL
-            // Add to balance
-            portfolio.setFreeBalance(portfolio.getFreeBalance() + tradeValue);
+            // Add to balance, net of fee
+            portfolio.setFreeBalance(portfolio.getFreeBalance() + tradeValue - order.getCommission());
             
             // Close or reduce position
             Position position = portfolio.getPosition(order.getSymbol());
@@ -247,8 +471,17 @@ public class SandboxExchangeGateway implements ExchangeGateway {
     /**
      * Update simulated price (for testing)
      */
-    public void setPrice(String symbol, double price) {
+    public synchronized void setPrice(String symbol, double price) {
         prices.put(symbol, price);
+        // Start a new tick so the change is visible right away
+        snapshot = null;
+    }
+
+    /**
+     * Update simulated 24h quote volume (for testing)
+     */
+    public void setVolume(String symbol, double quoteVolume) {
+        volumes.put(symbol, quoteVolume);
     }
 
     /**
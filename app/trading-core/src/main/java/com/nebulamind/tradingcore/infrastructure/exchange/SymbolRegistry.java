@@ -0,0 +1,145 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Symbol metadata of the exchange, loaded once from the gateway
+ *
+ * Every symbol gets a stable int id on first load, metadata is stored in an
+ * array indexed by that id. Callers resolve base/quote assets, order side and
+ * lot filters with a single lookup instead of parsing symbol strings.
+ *
+ * Ids are never reused: a reload (only triggered when an unknown symbol shows
+ * up) keeps existing ids and appends new symbols.
+ */
+@Component
+@Slf4j
+public class SymbolRegistry {
+
+    private final ExchangeGateway exchangeGateway;
+    private volatile Table table;
+
+    public SymbolRegistry(ExchangeGateway exchangeGateway) {
+        this.exchangeGateway = exchangeGateway;
+    }
+
+    /**
+     * @return Symbol id or -1 if exchange does not list symbol
+     */
+    public int id(String symbol) {
+        Integer id = table().ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    public SymbolInfo get(int id) {
+        return table().infos[id];
+    }
+
+    /**
+     * @return Symbol metadata or null if exchange does not list symbol
+     */
+    public SymbolInfo find(String symbol) {
+        int id = id(symbol);
+        return id >= 0 ? get(id) : null;
+    }
+
+    /**
+     * @return Symbol metadata
+     * @throws IllegalArgumentException if exchange does not list symbol
+     */
+    public SymbolInfo require(String symbol) {
+        SymbolInfo info = find(symbol);
+        if (info == null) {
+            throw new IllegalArgumentException("Unknown symbol: " + symbol);
+        }
+        return info;
+    }
+
+    public int size() {
+        return table().infos.length;
+    }
+
+    /**
+     * @return All base and quote assets of listed symbols
+     */
+    public Set<String> assets() {
+        return table().assets;
+    }
+
+    /**
+     * Reload metadata if any of symbols is not registered yet
+     *
+     * @return true if registry was reloaded
+     */
+    public synchronized boolean reloadIfMissing(Collection<String> symbols) {
+        Table current = table();
+        for (String symbol : symbols) {
+            if (!current.ids.containsKey(symbol)) {
+                table = load(current);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Table table() {
+        Table current = table;
+        if (current == null) {
+            synchronized (this) {
+                if (table == null) {
+                    table = load(Table.EMPTY);
+                }
+                current = table;
+            }
+        }
+        return current;
+    }
+
+    private Table load(Table previous) {
+        Map<String, SymbolInfo> listed = new LinkedHashMap<>();
+        for (SymbolInfo info : exchangeGateway.getSymbols()) {
+            listed.put(info.getSymbol(), info);
+        }
+
+        // Keep ids of known symbols, append new ones
+        List<SymbolInfo> infos = new ArrayList<>(previous.infos.length + listed.size());
+        for (SymbolInfo known : previous.infos) {
+            infos.add(listed.getOrDefault(known.getSymbol(), known));
+            listed.remove(known.getSymbol());
+        }
+        infos.addAll(listed.values());
+
+        Table loaded = new Table(infos.toArray(new SymbolInfo[0]));
+        log.info("Loaded metadata of {} symbols ({} new)", loaded.infos.length, loaded.infos.length - previous.infos.length);
+        return loaded;
+    }
+
+    /**
+     * Immutable id-indexed metadata
+     */
+    private static final class Table {
+        static final Table EMPTY = new Table(new SymbolInfo[0]);
+
+        final SymbolInfo[] infos;
+        final Map<String, Integer> ids;
+        final Set<String> assets;
+
+        Table(SymbolInfo[] infos) {
+            this.infos = infos;
+            Map<String, Integer> idMap = new HashMap<>(infos.length * 2);
+            Set<String> assetSet = new HashSet<>();
+            for (int id = 0; id < infos.length; id++) {
+                idMap.put(infos[id].getSymbol(), id);
+                assetSet.add(infos[id].getBaseAsset());
+                assetSet.add(infos[id].getQuoteAsset());
+            }
+            this.ids = Map.copyOf(idMap);
+            this.assets = Set.copyOf(assetSet);
+        }
+    }
+}
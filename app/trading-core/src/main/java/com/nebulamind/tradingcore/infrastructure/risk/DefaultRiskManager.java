@@ -3,7 +3,10 @@ package com.nebulamind.tradingcore.infrastructure.risk;
 import com.nebulamind.tradingcore.config.NebulaMindProperties;
 import com.nebulamind.tradingcore.domain.model.Order;
 import com.nebulamind.tradingcore.domain.model.Portfolio;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.CurrencyConverter;
 import com.nebulamind.tradingcore.domain.port.RiskManager;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,6 +24,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class DefaultRiskManager implements RiskManager {
 
     private final NebulaMindProperties properties;
+    private final SymbolRegistry symbolRegistry;
+    private final CurrencyConverter currencyConverter;
     
     // Track daily P&L
     private final Map<LocalDate, Double> dailyPnL = new ConcurrentHashMap<>();
@@ -39,8 +44,19 @@ public class DefaultRiskManager implements RiskManager {
             return ValidationResult.fail("Daily loss limit exceeded");
         }
         
-        // Calculate order value
-        double orderValue = order.getQuantity() * (order.getPrice() != null ? order.getPrice() : 50000.0);
+        // Calculate order value in portfolio currency: limit orders at their price, market orders at current rates
+        SymbolInfo info = symbolRegistry.find(order.getSymbol());
+        if (info == null) {
+            return ValidationResult.fail("Unknown symbol: " + order.getSymbol());
+        }
+        String currency = portfolio.getCurrency() != null ? portfolio.getCurrency() : info.getQuoteAsset();
+        String pricedAsset = order.getPrice() != null ? info.getQuoteAsset() : info.getBaseAsset();
+        if (!currencyConverter.canConvert(pricedAsset, currency)) {
+            return ValidationResult.fail(String.format("Cannot value %s in %s", order.getSymbol(), currency));
+        }
+        double orderValue = order.getPrice() != null
+                ? currencyConverter.convert(order.getQuantity() * order.getPrice(), pricedAsset, currency)
+                : currencyConverter.convert(order.getQuantity(), pricedAsset, currency);
         double maxOrderValue = portfolio.getTotalEquity() * (properties.getRisk().getMaxPctEquity() / 100.0);
         
         if (orderValue > maxOrderValue) {
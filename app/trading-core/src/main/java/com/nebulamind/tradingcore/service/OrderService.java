@@ -9,6 +9,7 @@ import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
 import com.nebulamind.tradingcore.domain.port.RiskManager;
 import com.nebulamind.tradingcore.exception.OrderValidationException;
 import com.nebulamind.tradingcore.exception.RiskLimitExceededException;
+import com.nebulamind.tradingcore.infrastructure.exchange.PortfolioValuator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class OrderService {
 
     private final ExchangeGateway exchangeGateway;
     private final RiskManager riskManager;
+    private final PortfolioValuator portfolioValuator;
 
     /**
      * Place order with risk policy validation
@@ -37,8 +39,8 @@ public class OrderService {
         log.info("Placing order: symbol={}, side={}, qty={}", 
                 request.getSymbol(), request.getSide(), request.getQty());
         
-        // Get current portfolio
-        Portfolio portfolio = exchangeGateway.getPortfolio();
+        // Get current portfolio, equity in portfolio currency like the order value checked against it
+        Portfolio portfolio = portfolioValuator.value(exchangeGateway.getPortfolio());
         
         // Create order domain model
         Order order = Order.builder()
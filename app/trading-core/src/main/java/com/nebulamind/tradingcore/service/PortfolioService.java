@@ -5,6 +5,7 @@ import com.nebulamind.tradingcore.api.dto.PositionDto;
 import com.nebulamind.tradingcore.domain.model.Portfolio;
 import com.nebulamind.tradingcore.domain.model.Position;
 import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.PortfolioValuator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,16 +21,20 @@ import java.util.stream.Collectors;
 public class PortfolioService {
 
     private final ExchangeGateway exchangeGateway;
+    private final PortfolioValuator portfolioValuator;
 
     /**
      * Get current portfolio snapshot
      * 
+     * Positions are valued in portfolio currency at current cross rates,
+     * whatever asset their pair is quoted in.
+     * 
      * @return Portfolio with equity, positions, and balance
      */
     public PortfolioDto getPortfolio() {
         log.debug("Getting portfolio snapshot");
         
-        Portfolio portfolio = exchangeGateway.getPortfolio();
+        Portfolio portfolio = portfolioValuator.value(exchangeGateway.getPortfolio());
         
         return PortfolioDto.builder()
                 .timestamp(portfolio.getTimestamp())
@@ -1,26 +1,53 @@
 package com.nebulamind.tradingcore.service.arbitrage;
 
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
 import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
 import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
 import com.nebulamind.tradingcore.domain.port.ChainExecutor;
-import lombok.RequiredArgsConstructor;
+import com.nebulamind.tradingcore.infrastructure.arbitrage.MinAmountCalculator;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for finding and executing arbitrage opportunities
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ArbitrageService {
 
     private final ArbitrageAnalyzer arbitrageAnalyzer;
     private final ChainExecutor chainExecutor;
+    private final SymbolRegistry symbolRegistry;
+    private final ScanResultCache scanCache;
+    private final long defaultScanBudgetMillis;
+    
+    public ArbitrageService(
+            ArbitrageAnalyzer arbitrageAnalyzer,
+            ChainExecutor chainExecutor,
+            SymbolRegistry symbolRegistry,
+            NebulaMindProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.arbitrageAnalyzer = arbitrageAnalyzer;
+        this.chainExecutor = chainExecutor;
+        this.symbolRegistry = symbolRegistry;
+        this.scanCache = new ScanResultCache(properties.getArbitrage().getScanCacheSize(), meterRegistry);
+        this.defaultScanBudgetMillis = properties.getArbitrage().getScanBudgetMillis();
+    }
     
     /**
      * Find profitable arbitrage chains
@@ -37,15 +64,83 @@ public class ArbitrageService {
             int chainLength,
             double minProfitPercent
     ) {
-        log.info("Searching for arbitrage opportunities: baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%",
-                baseAsset, maxAssets, chainLength, minProfitPercent);
+        return findProfitableChains(baseAsset, maxAssets, chainLength, minProfitPercent, ArbitrageAnalyzer.NO_LIMIT);
+    }
+    
+    /**
+     * Find the most profitable arbitrage chains
+     * 
+     * Only the returned chains are registered in the executor. Identical
+     * requests on the same market snapshot share one scan (see ScanResultCache).
+     * Cache and executor keep chains in compact form, callers get expanded views.
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains to return (ArbitrageAnalyzer.NO_LIMIT for all)
+     * @return Up to limit profitable chains, sorted by profit desc
+     */
+    public List<ArbitrageChain> findProfitableChains(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        return findProfitableChains(baseAsset, maxAssets, chainLength, minProfitPercent, limit, null);
+    }
+    
+    /**
+     * Find the most profitable arbitrage chains within a time budget
+     * 
+     * The scan returns the best chains found when the budget runs out or the
+     * market moves on to a newer snapshot. Without a budget of its own the
+     * configured default (arbitrage.scan-budget-millis) applies.
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains to return (ArbitrageAnalyzer.NO_LIMIT for all)
+     * @param timeBudgetMillis Search time budget (null for the configured default)
+     * @return Up to limit profitable chains, sorted by profit desc
+     */
+    public List<ArbitrageChain> findProfitableChains(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            Long timeBudgetMillis
+    ) {
+        long budgetMillis = timeBudgetMillis != null ? timeBudgetMillis : defaultScanBudgetMillis;
+        log.info("Searching for arbitrage opportunities: baseAsset={}, maxAssets={}, chainLength={}, minProfit={}%, limit={}, budget={}ms",
+                baseAsset, maxAssets, chainLength, minProfitPercent, limit, budgetMillis);
         
-        List<ArbitrageChain> chains = arbitrageAnalyzer.findArbitrageOpportunities(
-                baseAsset, maxAssets, chainLength, minProfitPercent);
+        long snapshotVersion = arbitrageAnalyzer.getMarketVersion();
+        ScanResultCache.Key key = new ScanResultCache.Key(
+                baseAsset, maxAssets, chainLength, minProfitPercent, limit, budgetMillis, snapshotVersion);
+        List<CompactChain> found = scanCache.get(key, () -> {
+            Instant deadline = budgetMillis > 0 ? Instant.now().plusMillis(budgetMillis) : null;
+            // The analyzer prices its own graph and may have seen a newer snapshot than the key
+            ArbitrageScan scan = arbitrageAnalyzer.scanArbitrageOpportunities(
+                    baseAsset, maxAssets, chainLength, minProfitPercent, limit, deadline);
+            if (!scan.isComplete()) {
+                log.info("Scan of snapshot {} was cut short, result is not cached", scan.getSnapshotVersion());
+            }
+            List<CompactChain> chains = distinctByCycle(scan.getChains()).stream()
+                    .map(this::compact)
+                    .toList();
+            return new ScanResultCache.Scan(chains, scan.getSnapshotVersion(), scan.isComplete());
+        });
         
-        // Register all found chains in executor for future execution
-        for (ArbitrageChain chain : chains) {
+        // Register all found chains in executor for future execution, compact chains are
+        // immutable and shared with the cache, execution state is kept by the executor
+        List<ArbitrageChain> chains = new ArrayList<>(found.size());
+        for (CompactChain chain : found) {
             chainExecutor.registerChain(chain);
+            chains.add(chain.expand(symbolRegistry::get));
         }
         
         log.info("Found {} profitable chains, registered in executor", chains.size());
@@ -53,6 +148,99 @@ public class ArbitrageService {
         return chains;
     }
     
+    /**
+     * Stream profitable arbitrage chains as the search finds them
+     * 
+     * Chains arrive unsorted and are registered in the executor on the way, so
+     * a caller can execute a good-enough chain while the search continues.
+     * The search runs on a worker thread once subscribed and stops when the
+     * subscriber cancels or the limit is reached.
+     * 
+     * @param baseAsset Base asset (e.g. USDT)
+     * @param maxAssets Maximum number of assets to analyze
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains to emit (ArbitrageAnalyzer.NO_LIMIT for all)
+     * @return Profitable chains in discovery order
+     */
+    public Flux<ArbitrageChain> streamProfitableChains(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        Flux<ArbitrageChain> chains = Flux.<ArbitrageChain>create(sink -> {
+            Set<String> seen = ConcurrentHashMap.newKeySet();
+            arbitrageAnalyzer.streamArbitrageOpportunities(baseAsset, maxAssets, chainLength, minProfitPercent, chain -> {
+                if (sink.isCancelled()) {
+                    return false;
+                }
+                if (seen.add(chain.cycleKey())) {
+                    chainExecutor.registerChain(compact(chain));
+                    sink.next(chain);
+                }
+                return !sink.isCancelled();
+            });
+            sink.complete();
+        }).subscribeOn(Schedulers.boundedElastic());
+        
+        return limit > 0 ? chains.take(limit) : chains;
+    }
+    
+    /**
+     * Find the most profitable arbitrage chains for several base assets in one scan
+     * 
+     * @param baseAssets Base assets in priority order
+     * @param maxAssets Maximum number of assets to analyze per base asset
+     * @param chainLength Required length of arbitrage chain
+     * @param minProfitPercent Minimum profit to consider
+     * @param limit Maximum number of chains per base asset (ArbitrageAnalyzer.NO_LIMIT for all)
+     * @return Profitable chains grouped by base asset, each sorted by profit desc
+     */
+    public Map<String, List<ArbitrageChain>> findProfitableChainsByBase(
+            List<String> baseAssets,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit
+    ) {
+        log.info("Searching for arbitrage opportunities: baseAssets={}, maxAssets={}, chainLength={}, minProfit={}%, limit={}",
+                baseAssets, maxAssets, chainLength, minProfitPercent, limit);
+        
+        Map<String, List<ArbitrageChain>> chainsByBase = arbitrageAnalyzer.findArbitrageOpportunitiesByBase(
+                baseAssets, maxAssets, chainLength, minProfitPercent, limit);
+        
+        // Every cycle is reported in one group only, rotated to its base, so ids are unique
+        chainsByBase.values().forEach(chains -> chains.forEach(chain -> chainExecutor.registerChain(compact(chain))));
+        
+        log.info("Found {} profitable chains for {} base assets, registered in executor",
+                chainsByBase.values().stream().mapToInt(List::size).sum(), chainsByBase.size());
+        
+        return chainsByBase;
+    }
+    
+    /**
+     * Compact form of chain found by analyzer, as kept by cache and executor
+     */
+    private CompactChain compact(ArbitrageChain chain) {
+        return CompactChain.of(chain, symbolRegistry::id, symbolRegistry::get);
+    }
+    
+    /**
+     * Drop repeated cycles (same cycle key, e.g. rotations), keeping the first occurrence
+     */
+    private static List<ArbitrageChain> distinctByCycle(List<ArbitrageChain> chains) {
+        Set<String> seen = new HashSet<>();
+        List<ArbitrageChain> distinct = new ArrayList<>(chains.size());
+        for (ArbitrageChain chain : chains) {
+            if (seen.add(chain.cycleKey())) {
+                distinct.add(chain);
+            }
+        }
+        return distinct;
+    }
+    
     /**
      * Execute arbitrage chain
      * 
@@ -63,28 +251,37 @@ public class ArbitrageService {
     public ArbitrageChain executeChain(String chainId, double baseAmount) {
         log.info("Executing arbitrage chain: chainId={}, baseAmount={}", chainId, baseAmount);
         
-        ArbitrageChain chain = chainExecutor.getChainStatus(chainId);
-        if (chain == null) {
+        CompactChain registered = chainExecutor.getChain(chainId);
+        if (registered == null) {
             throw new IllegalArgumentException("Chain not found: " + chainId);
         }
+        ArbitrageChain chain = registered.expand(symbolRegistry::get);
         
-        // Validate chain is still profitable
+        // Validate chain is still profitable, all steps priced from one market snapshot
+        MarketSnapshot snapshot = arbitrageAnalyzer.getMarketSnapshot();
         List<ArbitrageStep> updatedSteps = new ArrayList<>();
         double currentAmount = baseAmount;
         
         for (ArbitrageStep step : chain.getSteps()) {
-            // Get current rate
-            double currentRate = arbitrageAnalyzer.getCurrentRate(step.getSymbol());
-            if (currentRate == 0) {
+            // Get current price: BUY fills at the ask, SELL at the bid
+            SymbolInfo info = symbolRegistry.require(step.getSymbol());
+            boolean isBuy = info.sideFor(step.getToAsset()) == Order.OrderSide.BUY;
+            double currentPrice = isBuy ? snapshot.ask(step.getSymbol()) : snapshot.bid(step.getSymbol());
+            if (currentPrice <= 0) {
                 throw new IllegalStateException("Failed to get current rate for " + step.getSymbol());
             }
             
+            // BUY receives base asset (1 / price per quote unit), SELL receives quote asset (price per base unit),
+            // both less the taker fee
+            double currentRate = (isBuy ? 1.0 / currentPrice : currentPrice) * (1.0 - info.getTakerFee());
+            
             // Update step with current rate
             ArbitrageStep updatedStep = ArbitrageStep.builder()
                     .fromAsset(step.getFromAsset())
                     .toAsset(step.getToAsset())
                     .symbol(step.getSymbol())
                     .rate(currentRate)
+                    .fee(info.getTakerFee())
                     .minQty(step.getMinQty())
                     .maxQty(step.getMaxQty())
                     .priceDecimals(step.getPriceDecimals())
@@ -92,35 +289,19 @@ public class ArbitrageService {
                     .build();
             
             // Calculate actual quantity for this step
-            // For BUY: quantity = currentAmount / rate (convert quote to base)
+            // For BUY: quantity = currentAmount * rate before fee (convert quote to base)
             // For SELL: quantity = currentAmount (already in base)
-            boolean isBuy = updatedStep.getSymbol().startsWith(updatedStep.getToAsset());
             double stepQty = isBuy ? 
-                    updatedStep.formatQuantity(currentAmount / currentRate) :
+                    updatedStep.formatQuantity(currentAmount * updatedStep.grossRate()) :
                     updatedStep.formatQuantity(currentAmount);
             
             // Validate quantity is within limits
             if (!updatedStep.isQuantityValid(stepQty)) {
-                // Calculate minimum base amount needed for this step
-                double minBaseAmountNeeded;
-                if (isBuy) {
-                    // For BUY: baseAmount = minQty * rate
-                    minBaseAmountNeeded = updatedStep.getMinQty() * currentRate;
-                } else {
-                    // For SELL: baseAmount = minQty
-                    minBaseAmountNeeded = updatedStep.getMinQty();
-                }
-                
-                // Convert back through previous steps
-                for (int j = updatedSteps.size() - 1; j >= 0; j--) {
-                    ArbitrageStep prevStep = updatedSteps.get(j);
-                    boolean prevIsBuy = prevStep.getSymbol().startsWith(prevStep.getToAsset());
-                    if (prevIsBuy) {
-                        minBaseAmountNeeded = minBaseAmountNeeded * prevStep.getRate();
-                    } else {
-                        minBaseAmountNeeded = minBaseAmountNeeded / prevStep.getRate();
-                    }
-                }
+                // Minimum base amount for the whole chain at current rates (steps not revalidated yet keep theirs)
+                List<ArbitrageStep> currentSteps = new ArrayList<>(updatedSteps);
+                currentSteps.add(updatedStep);
+                currentSteps.addAll(chain.getSteps().subList(currentSteps.size(), chain.getSteps().size()));
+                double minBaseAmountNeeded = MinAmountCalculator.minRequiredAmount(currentSteps, symbolRegistry);
                 
                 throw new IllegalStateException(
                         String.format("Insufficient amount for %s: quantity %.8f is below minimum %.8f. " +
@@ -134,10 +315,10 @@ public class ArbitrageService {
             
             // Calculate output for next step
             if (isBuy) {
-                // Bought base currency
-                currentAmount = stepQty;
+                // Bought base currency, fee is taken from it
+                currentAmount = stepQty * (1.0 - info.getTakerFee());
             } else {
-                // Sold base currency, received quote currency
+                // Sold base currency, received quote currency after fee
                 currentAmount = stepQty * currentRate;
             }
         }
@@ -146,6 +327,7 @@ public class ArbitrageService {
         double profitPercent = (currentAmount - baseAmount) / baseAmount * 100;
         chain.setSteps(updatedSteps);
         chain.setProfitPercent(profitPercent);
+        chain.setSnapshotVersion(snapshot.getVersion());
         chain.setTimestamp(Instant.now());
         
         // Warn if chain is no longer profitable (prices may have changed)
@@ -156,7 +338,7 @@ public class ArbitrageService {
         }
         
         // Execute chain
-        return chainExecutor.executeChain(chain, baseAmount);
+        return chainExecutor.executeChain(compact(chain), baseAmount);
     }
     
     /**
@@ -195,26 +377,6 @@ public class ArbitrageService {
      * @return Set of unique assets
      */
     public Set<String> getAvailableAssets() {
-        List<String> pairs = getAvailablePairs();
-        Set<String> assets = new HashSet<>();
-        
-        // Extract unique assets from pairs
-        // Common quote currencies
-        String[] quotes = {"USDT", "BTC", "ETH", "BNB", "BUSD", "USD", "EUR"};
-        
-        for (String pair : pairs) {
-            for (String quote : quotes) {
-                if (pair.endsWith(quote)) {
-                    String base = pair.substring(0, pair.length() - quote.length());
-                    if (!base.isEmpty()) {
-                        assets.add(base);
-                        assets.add(quote);
-                        break;
-                    }
-                }
-            }
-        }
-        
-        return assets;
+        return new HashSet<>(symbolRegistry.assets());
     }
 }
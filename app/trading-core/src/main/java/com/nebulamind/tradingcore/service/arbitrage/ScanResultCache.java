@@ -0,0 +1,141 @@
+package com.nebulamind.tradingcore.service.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded single-flight cache of scan results per market snapshot
+ *
+ * Results are keyed by scan parameters and the version of the market snapshot
+ * they were priced from, so identical requests within one market tick share
+ * one graph build and search. A scan requested at one version may price a
+ * newer snapshot, its result is then filed under the version it priced.
+ * Concurrent identical requests wait for the scan already in flight instead
+ * of starting their own. Least recently used entries are evicted, failed and
+ * cut short scans are shared with waiting callers but not cached.
+ *
+ * Hits and misses are counted in {@code arbitrage.scan.cache} (tag result).
+ */
+final class ScanResultCache {
+
+    /**
+     * Scan parameters and market version a result is valid for
+     */
+    record Key(
+            String baseAsset,
+            int maxAssets,
+            int chainLength,
+            double minProfitPercent,
+            int limit,
+            long budgetMillis,
+            long snapshotVersion
+    ) {
+        Key withSnapshotVersion(long version) {
+            return new Key(baseAsset, maxAssets, chainLength, minProfitPercent, limit, budgetMillis, version);
+        }
+    }
+
+    /**
+     * Chains found by one scan and the snapshot version they were priced from
+     *
+     * @param snapshotVersion Priced version, ArbitrageScan.UNKNOWN_VERSION if it cannot be told
+     * @param complete false if the search was cut short
+     */
+    record Scan(List<CompactChain> chains, long snapshotVersion, boolean complete) {
+    }
+
+    private final int maxEntries;
+    private final Map<Key, CompletableFuture<List<CompactChain>>> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param maxEntries Max cached results (0 disables caching)
+     */
+    ScanResultCache(int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CompletableFuture<List<CompactChain>>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("arbitrage.scan.cache")
+                .description("Arbitrage scan result cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("arbitrage.scan.cache")
+                .description("Arbitrage scan result cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get cached result or run scan, sharing it with concurrent callers of the same key
+     *
+     * @return Unmodifiable scan result
+     */
+    List<CompactChain> get(Key key, Supplier<Scan> scan) {
+        if (maxEntries <= 0) {
+            misses.increment();
+            return scan.get().chains();
+        }
+
+        CompletableFuture<List<CompactChain>> future;
+        boolean owner = false;
+        synchronized (entries) {
+            future = entries.get(key);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            hits.increment();
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        misses.increment();
+        try {
+            Scan found = scan.get();
+            List<CompactChain> result = Collections.unmodifiableList(new ArrayList<>(found.chains()));
+            future.complete(result);
+            if (!found.complete() || found.snapshotVersion() != key.snapshotVersion()) {
+                // Partial, or priced from another snapshot than requested: file a full result where it is valid
+                synchronized (entries) {
+                    entries.remove(key, future);
+                    if (found.complete() && found.snapshotVersion() != ArbitrageScan.UNKNOWN_VERSION) {
+                        entries.putIfAbsent(key.withSnapshotVersion(found.snapshotVersion()), future);
+                    }
+                }
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
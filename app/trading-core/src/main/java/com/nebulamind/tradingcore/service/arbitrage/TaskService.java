@@ -173,7 +173,8 @@ public class TaskService {
                         task.getBaseAsset(),
                         task.getMaxAssets(),
                         task.getChainLength(),
-                        task.getMinProfitPercent()
+                        task.getMinProfitPercent(),
+                        1 // only the best chain is executed
                 );
                 
                 if (chains.isEmpty()) {
@@ -0,0 +1,48 @@
+package com.nebulamind.tradingcore.domain.model.arbitrage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ArbitrageChain
+ */
+class ArbitrageChainTest {
+
+    private static final ArbitrageStep USDT_BTC = step("USDT", "BTC", "BTCUSDT");
+    private static final ArbitrageStep BTC_ETH = step("BTC", "ETH", "ETHBTC");
+    private static final ArbitrageStep ETH_USDT = step("ETH", "USDT", "ETHUSDT");
+
+    @Test
+    void chainId_rotation_shouldDifferButShareCycleKey() {
+        // When
+        List<ArbitrageStep> fromUsdt = List.of(USDT_BTC, BTC_ETH, ETH_USDT);
+        List<ArbitrageStep> fromBtc = List.of(BTC_ETH, ETH_USDT, USDT_BTC);
+
+        // Then: rotations are different executable chains of one cycle
+        assertThat(ArbitrageChain.chainId(fromBtc)).isNotEqualTo(ArbitrageChain.chainId(fromUsdt));
+        assertThat(ArbitrageChain.chainId(List.of(USDT_BTC, BTC_ETH, ETH_USDT))).isEqualTo(ArbitrageChain.chainId(fromUsdt));
+        assertThat(ArbitrageChain.cycleKey(fromBtc)).isEqualTo(ArbitrageChain.cycleKey(fromUsdt));
+    }
+
+    @Test
+    void cycleKey_oppositeDirection_shouldDiffer() {
+        // When
+        String forward = ArbitrageChain.cycleKey(List.of(USDT_BTC, BTC_ETH, ETH_USDT));
+        String backward = ArbitrageChain.cycleKey(List.of(
+                step("USDT", "ETH", "ETHUSDT"), step("ETH", "BTC", "ETHBTC"), step("BTC", "USDT", "BTCUSDT")));
+
+        // Then
+        assertThat(backward).isNotEqualTo(forward);
+    }
+
+    private static ArbitrageStep step(String from, String to, String symbol) {
+        return ArbitrageStep.builder()
+                .fromAsset(from)
+                .toAsset(to)
+                .symbol(symbol)
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.nebulamind.tradingcore.domain.model.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for CompactChain
+ */
+class CompactChainTest {
+
+    private static final List<SymbolInfo> SYMBOLS = List.of(
+            symbol("BTC", "USDT"), symbol("ETH", "BTC"), symbol("ETH", "USDT"));
+
+    @Test
+    void expand_compactedChain_shouldRestoreStepsAndDirections() {
+        // Given: buy BTC, buy ETH, sell ETH
+        List<ArbitrageStep> steps = List.of(
+                step(SYMBOLS.get(0), "USDT", "BTC", 1.0 / 50000),
+                step(SYMBOLS.get(1), "BTC", "ETH", 1.0 / 0.06),
+                step(SYMBOLS.get(2), "ETH", "USDT", 3010.0));
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .id(ArbitrageChain.chainId(steps))
+                .baseAsset("USDT")
+                .steps(steps)
+                .profitPercent(0.33)
+                .minRequiredBaseAmount(12.5)
+                .snapshotVersion(42)
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_000L))
+                .status(ArbitrageChain.ChainStatus.FOUND)
+                .build();
+
+        // When
+        CompactChain compact = CompactChain.of(chain, CompactChainTest::id, SYMBOLS::get);
+        ArbitrageChain expanded = compact.expand(SYMBOLS::get);
+
+        // Then
+        assertThat(compact.length()).isEqualTo(3);
+        assertThat(compact.isBuy(0)).isTrue();
+        assertThat(compact.isBuy(1)).isTrue();
+        assertThat(compact.isBuy(2)).isFalse();
+        assertThat(expanded).isEqualTo(chain);
+    }
+
+    @Test
+    void expand_chainWithDepth_shouldRestoreProfitCurve() {
+        // Given: depth profile as attached by ChainDepthProfiler
+        List<ArbitrageStep> steps = List.of(
+                step(SYMBOLS.get(0), "USDT", "BTC", 1.0 / 50000),
+                step(SYMBOLS.get(1), "BTC", "ETH", 1.0 / 0.06),
+                step(SYMBOLS.get(2), "ETH", "USDT", 3010.0));
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .id(ArbitrageChain.chainId(steps))
+                .baseAsset("USDT")
+                .steps(steps)
+                .profitPercent(0.33)
+                .profitCurve(List.of(point(100.0, 0.3), point(1000.0, 2.5)))
+                .optimalBaseAmount(700.0)
+                .maxProfit(2.75)
+                .timestamp(Instant.ofEpochMilli(1_700_000_000_000L))
+                .status(ArbitrageChain.ChainStatus.FOUND)
+                .build();
+
+        // When
+        CompactChain compact = CompactChain.of(chain, CompactChainTest::id, SYMBOLS::get);
+
+        // Then
+        assertThat(compact.getId()).isEqualTo(chain.getId());
+        assertThat(compact.getOptimalBaseAmount()).isEqualTo(700.0);
+        assertThat(compact.expand(SYMBOLS::get)).isEqualTo(chain);
+    }
+
+    @Test
+    void compactChain_shouldHoldOnlyPrimitivesAndPrimitiveArrays() {
+        // Given: per-chain objects behind reference fields are what made chains large
+        List<Field> fields = Arrays.stream(CompactChain.class.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .toList();
+
+        // Then: no String, List, ProfitPoint or boxed value per chain
+        assertThat(fields).allSatisfy(field -> assertThat(
+                field.getType().isPrimitive()
+                        || field.getType().isArray() && field.getType().getComponentType().isPrimitive())
+                .as(field.getName())
+                .isTrue());
+    }
+
+    @Test
+    void of_unknownSymbol_shouldFail() {
+        // Given
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .id("unknown")
+                .steps(List.of(step(symbol("SOL", "USDT"), "USDT", "SOL", 0.01)))
+                .build();
+
+        // When/Then
+        assertThatThrownBy(() -> CompactChain.of(chain, CompactChainTest::id, SYMBOLS::get))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("SOLUSDT");
+    }
+
+    private static int id(String symbol) {
+        for (int i = 0; i < SYMBOLS.size(); i++) {
+            if (SYMBOLS.get(i).getSymbol().equals(symbol)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static SymbolInfo symbol(String base, String quote) {
+        return SymbolInfo.builder()
+                .symbol(base + quote)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .minQty(0.001)
+                .maxQty(1000.0)
+                .priceDecimals(2)
+                .qtyDecimals(3)
+                .takerFee(0.001)
+                .build();
+    }
+
+    private static ProfitPoint point(double baseAmount, double profit) {
+        return ProfitPoint.builder()
+                .baseAmount(baseAmount)
+                .profit(profit)
+                .profitPercent(profit / baseAmount * 100.0)
+                .build();
+    }
+
+    private static ArbitrageStep step(SymbolInfo info, String from, String to, double rate) {
+        return ArbitrageStep.builder()
+                .fromAsset(from)
+                .toAsset(to)
+                .symbol(info.getSymbol())
+                .rate(rate)
+                .fee(info.getTakerFee())
+                .minQty(info.getMinQty())
+                .maxQty(info.getMaxQty())
+                .priceDecimals(info.getPriceDecimals())
+                .qtyDecimals(info.getQtyDecimals())
+                .build();
+    }
+}
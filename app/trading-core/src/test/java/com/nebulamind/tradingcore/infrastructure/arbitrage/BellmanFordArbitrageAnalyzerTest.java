@@ -0,0 +1,134 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for BellmanFordArbitrageAnalyzer
+ */
+class BellmanFordArbitrageAnalyzerTest {
+
+    private static final Map<String, Double> PRICES = Map.of(
+            "BTCUSDT", 50000.0,
+            "ETHUSDT", 3000.0,
+            "BNBUSDT", 400.0,
+            "ETHBTC", 0.0612,
+            "BNBBTC", 0.0079,
+            "BNBETH", 0.134
+    );
+
+    private BellmanFordArbitrageAnalyzer bellmanFord;
+    private SandboxArbitrageAnalyzer dfs;
+
+    @BeforeEach
+    void setUp() {
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        SymbolFixtures.stubMarket(gateway, PRICES);
+        when(gateway.getSymbols()).thenReturn(List.of(
+                symbol("BTC", "USDT"), symbol("ETH", "USDT"), symbol("BNB", "USDT"),
+                symbol("ETH", "BTC"), symbol("BNB", "BTC"), symbol("BNB", "ETH")));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(gateway);
+
+        bellmanFord = new BellmanFordArbitrageAnalyzer(gateway, symbolRegistry, new NebulaMindProperties());
+        dfs = new SandboxArbitrageAnalyzer(gateway, symbolRegistry, new NebulaMindProperties());
+    }
+
+    @Test
+    void findArbitrageOpportunities_triangles_shouldMatchDfs() {
+        // When
+        List<ArbitrageChain> expected = dfs.findArbitrageOpportunities("USDT", 10, 3, 0.0);
+        List<ArbitrageChain> actual = bellmanFord.findArbitrageOpportunities("USDT", 10, 3, 0.0);
+
+        // Then
+        assertThat(expected).isNotEmpty();
+        assertThat(paths(actual)).containsExactlyInAnyOrderElementsOf(paths(expected));
+    }
+
+    @Test
+    void findArbitrageOpportunities_longerChain_shouldReturnValidProfitableChains() {
+        // When
+        List<ArbitrageChain> chains = bellmanFord.findArbitrageOpportunities("USDT", 10, 4, 0.1);
+
+        // Then
+        assertThat(chains).isNotEmpty();
+        chains.forEach(chain -> {
+            assertThat(chain.isValid(4)).isTrue();
+            assertThat(chain.getBaseAsset()).isEqualTo("USDT");
+            assertThat(chain.getProfitPercent()).isGreaterThanOrEqualTo(0.1);
+            assertThat(chain.getUniqueAssets()).hasSize(4);
+        });
+        assertThat(chains).isSortedAccordingTo(
+                (a, b) -> Double.compare(b.getProfitPercent(), a.getProfitPercent()));
+    }
+
+    @Test
+    void findArbitrageOpportunities_cheapestPrefixBlocksClosingPath_shouldFindCycleOverWorsePrefix() {
+        // Given: out of A, the only 3-hop prefix into X that can close over Y is
+        // USDT>A>M>X, but the cheaper USDT>A>Y>X already visits Y
+        Map<String, Double> prices = Map.of(
+                "AUSDT", 1.0,
+                "MUSDT", 1.0,
+                "XUSDT", 1.0,
+                "YUSDT", 1.05,
+                "MA", 1.0,
+                "YA", 0.9,
+                "XM", 1.0,
+                "XY", 1.0);
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        SymbolFixtures.stubMarket(gateway, prices);
+        when(gateway.getSymbols()).thenReturn(List.of(
+                symbol("A", "USDT"), symbol("M", "USDT"), symbol("X", "USDT"), symbol("Y", "USDT"),
+                symbol("M", "A"), symbol("Y", "A"), symbol("X", "M"), symbol("X", "Y")));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(gateway);
+        BellmanFordArbitrageAnalyzer analyzer = new BellmanFordArbitrageAnalyzer(gateway, symbolRegistry, new NebulaMindProperties());
+        SandboxArbitrageAnalyzer reference = new SandboxArbitrageAnalyzer(gateway, symbolRegistry, new NebulaMindProperties());
+
+        // When
+        List<ArbitrageChain> chains = analyzer.findArbitrageOpportunities("USDT", 10, 5, 0.0);
+
+        // Then: the cycle over the worse prefix is found, every chain is one DFS finds as well
+        assertThat(paths(chains))
+                .contains("AUSDT>MA>XM>XY>YUSDT", "AUSDT>YA>XY>XM>MUSDT")
+                .isSubsetOf(paths(reference.findArbitrageOpportunities("USDT", 10, 5, 0.0)));
+    }
+
+    @Test
+    void scanArbitrageOpportunities_deadlinePassed_shouldReturnIncompleteScan() {
+        // When
+        ArbitrageScan expired = bellmanFord.scanArbitrageOpportunities(
+                "USDT", 10, 4, 0.0, ArbitrageAnalyzer.NO_LIMIT, Instant.now().minusSeconds(1));
+        ArbitrageScan full = bellmanFord.scanArbitrageOpportunities(
+                "USDT", 10, 4, 0.0, ArbitrageAnalyzer.NO_LIMIT, null);
+
+        // Then
+        assertThat(expired.isComplete()).isFalse();
+        assertThat(expired.getChains()).isEmpty();
+        assertThat(full.isComplete()).isTrue();
+        assertThat(full.getChains()).isNotEmpty();
+    }
+
+    private static List<String> paths(List<ArbitrageChain> chains) {
+        return chains.stream()
+                .map(chain -> chain.getSteps().stream()
+                        .map(ArbitrageStep::getSymbol)
+                        .collect(Collectors.joining(">")))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.OrderBook;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ProfitPoint;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for ChainDepthProfiler
+ */
+class ChainDepthProfilerTest {
+
+    @Test
+    void profile_profitOnlyOnFirstLevels_shouldStopAtTheirSize() {
+        // Given: 5% edge on the first 100 USDT, deeper levels lose money
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenReturn(List.of(
+                symbol("BTC", "USDT"), symbol("ETH", "BTC"), symbol("ETH", "USDT")));
+        when(gateway.getOrderBook(eq("BTCUSDT"), anyInt())).thenReturn(book("BTCUSDT",
+                List.of(), List.of(new OrderBook.Level(100, 1), new OrderBook.Level(110, 1))));
+        when(gateway.getOrderBook(eq("ETHBTC"), anyInt())).thenReturn(book("ETHBTC",
+                List.of(), List.of(new OrderBook.Level(0.5, 10))));
+        when(gateway.getOrderBook(eq("ETHUSDT"), anyInt())).thenReturn(book("ETHUSDT",
+                List.of(new OrderBook.Level(52.5, 2), new OrderBook.Level(45, 2)), List.of()));
+        ChainDepthProfiler profiler = new ChainDepthProfiler(gateway, new SymbolRegistry(gateway), 20);
+
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .baseAsset("USDT")
+                .steps(List.of(step("USDT", "BTC", "BTCUSDT"), step("BTC", "ETH", "ETHBTC"), step("ETH", "USDT", "ETHUSDT")))
+                .build();
+
+        // When
+        profiler.profile(List.of(chain));
+
+        // Then
+        assertThat(chain.getOptimalBaseAmount()).isCloseTo(100.0, within(1e-6));
+        assertThat(chain.getMaxProfit()).isCloseTo(5.0, within(1e-6));
+
+        List<ProfitPoint> curve = chain.getProfitCurve();
+        assertThat(curve).isNotEmpty();
+        assertThat(curve.get(0).getProfitPercent()).isCloseTo(5.0, within(1e-9));
+        ProfitPoint largest = curve.get(curve.size() - 1);
+        assertThat(largest.getBaseAmount()).isCloseTo(210.0, within(1e-9));
+        assertThat(largest.getProfit()).isCloseTo(-15.0, within(1e-9));
+    }
+
+    @Test
+    void profile_missingBook_shouldLeaveChainUnprofiled() {
+        // Given
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenReturn(List.of(symbol("BTC", "USDT")));
+        ChainDepthProfiler profiler = new ChainDepthProfiler(gateway, new SymbolRegistry(gateway), 20);
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .baseAsset("USDT")
+                .steps(List.of(step("USDT", "BTC", "BTCUSDT"), step("BTC", "USDT", "BTCUSDT")))
+                .build();
+
+        // When
+        profiler.profile(List.of(chain));
+
+        // Then
+        assertThat(chain.getProfitCurve()).isNull();
+        assertThat(chain.getOptimalBaseAmount()).isNull();
+    }
+
+    private OrderBook book(String symbol, List<OrderBook.Level> bids, List<OrderBook.Level> asks) {
+        return OrderBook.builder().symbol(symbol).bids(bids).asks(asks).build();
+    }
+
+    private ArbitrageStep step(String from, String to, String symbol) {
+        return ArbitrageStep.builder().fromAsset(from).toAsset(to).symbol(symbol).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for CycleCatalog
+ */
+class CycleCatalogTest {
+
+    @Test
+    void sync_priceMove_shouldOnlyReevaluateCyclesOfSymbol() {
+        // Given: USDT/BTC/ETH triangle plus USDT/BNB pair that lies on no cycle
+        TradingGraph graph = new TradingGraph.Builder()
+                .addPair(symbol("BTC", "USDT"), 50000.0)
+                .addPair(symbol("ETH", "USDT"), 3000.0)
+                .addPair(symbol("ETH", "BTC"), 0.06)
+                .addPair(symbol("BNB", "USDT"), 400.0)
+                .build();
+        BitSet assets = new BitSet();
+        assets.set(0, graph.assetCount());
+        CycleCatalog catalog = CycleCatalog.build(
+                graph, new CycleCatalog.Key(graph.assetId("USDT"), 3, assets), 100, new ScalarCycleEvaluator());
+
+        // Then: both directions of the triangle, balanced prices
+        assertThat(catalog).isNotNull();
+        assertThat(catalog.size()).isEqualTo(2);
+        assertThat(profitable(catalog)).isZero();
+
+        // When
+        graph = graph.withPrices(MarketSnapshot.of(1, Map.of("BNBUSDT", 410.0)));
+        int untouched = catalog.sync(graph);
+        graph = graph.withPrices(MarketSnapshot.of(2, Map.of("ETHBTC", 0.061)));
+        int evaluated = catalog.sync(graph);
+
+        // Then
+        assertThat(untouched).isZero();
+        assertThat(evaluated).isEqualTo(2);
+        assertThat(profitable(catalog)).isEqualTo(1);
+    }
+
+    @Test
+    void build_tooManyCycles_shouldReturnNull() {
+        TradingGraph graph = new TradingGraph.Builder()
+                .addPair(symbol("BTC", "USDT"), 50000.0)
+                .addPair(symbol("ETH", "USDT"), 3000.0)
+                .addPair(symbol("ETH", "BTC"), 0.06)
+                .build();
+        BitSet assets = new BitSet();
+        assets.set(0, graph.assetCount());
+
+        assertThat(CycleCatalog.build(graph, new CycleCatalog.Key(graph.assetId("USDT"), 3, assets), 1, new ScalarCycleEvaluator())).isNull();
+    }
+
+    @Test
+    void sync_allPricesMoved_vectorAndScalarEvaluationShouldAgree() {
+        CycleEvaluator vectorEvaluator = CycleEvaluator.vector();
+        assumeTrue(vectorEvaluator != null, "Vector evaluator is only built with -Pvector");
+
+        // Given: complete graph of 8 assets, 210 four-leg cycles through USDT (not a multiple of any vector width)
+        String[] assets = {"USDT", "BTC", "ETH", "BNB", "SOL", "XRP", "ADA", "DOT"};
+        Random random = new Random(42);
+        TradingGraph.Builder builder = new TradingGraph.Builder();
+        Map<String, Double> moved = new HashMap<>();
+        for (int b = 1; b < assets.length; b++) {
+            for (int q = 0; q < b; q++) {
+                String symbol = assets[b] + assets[q];
+                builder.addPair(symbol(assets[b], assets[q]), 1.0 + random.nextDouble());
+                moved.put(symbol, 1.0 + random.nextDouble());
+            }
+        }
+        TradingGraph graph = builder.build();
+        BitSet all = new BitSet();
+        all.set(0, graph.assetCount());
+        CycleCatalog.Key key = new CycleCatalog.Key(graph.assetId("USDT"), 4, all);
+        CycleCatalog scalar = CycleCatalog.build(graph, key, 10_000, new ScalarCycleEvaluator());
+        CycleCatalog vector = CycleCatalog.build(graph, key, 10_000, vectorEvaluator);
+
+        // When: every price moves, sync takes the bulk path
+        graph = graph.withPrices(MarketSnapshot.of(1, moved));
+        int evaluated = vector.sync(graph);
+        scalar.sync(graph);
+
+        // Then: identical log-profits, equal to summing the edges of each cycle
+        assertThat(vector.size()).isEqualTo(210);
+        assertThat(evaluated).isEqualTo(210);
+        for (int c = 0; c < vector.size(); c++) {
+            double expected = 0.0;
+            for (int k = 0; k < 4; k++) {
+                expected += graph.logRate(vector.edge(c, k));
+            }
+            assertThat(vector.logProfit(c)).isEqualTo(scalar.logProfit(c)).isEqualTo(expected);
+        }
+    }
+
+    private static int profitable(CycleCatalog catalog) {
+        TopCycles top = new TopCycles(0, 1);
+        catalog.collect(1e-9, top);
+        return top.size();
+    }
+}
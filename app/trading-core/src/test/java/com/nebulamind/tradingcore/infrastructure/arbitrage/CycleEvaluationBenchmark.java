@@ -0,0 +1,133 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cycle profitability of one market snapshot: per-scan DFS vs bulk catalog evaluation
+ *
+ * Every invocation moves to the next of a few pre-built snapshots in which all
+ * prices moved, as between two sandbox ticks. The DFS baseline is the
+ * single-threaded per-scan search of SandboxArbitrageAnalyzer, the catalog
+ * benchmarks re-evaluate all cycles of the same universe and collect the best.
+ *
+ * The vector benchmark measures the scalar evaluator unless built with -Pvector.
+ *
+ * Run with: mvn -Pvector test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.nebulamind.tradingcore.infrastructure.arbitrage.CycleEvaluationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CycleEvaluationBenchmark {
+
+    private static final int SNAPSHOTS = 8;
+    private static final int LIMIT = 10;
+
+    @Param({"16", "32"})
+    public int assetCount;
+
+    @Param({"4"})
+    public int chainLength;
+
+    private TradingGraph[] graphs;
+    private int next;
+    private int base;
+    private BitSet allowed;
+    private SandboxArbitrageAnalyzer dfs;
+    private CycleCatalog scalarCatalog;
+    private CycleCatalog vectorCatalog;
+
+    @Setup
+    public void setUp() {
+        // Complete graph, asset i is worth 1 + i quote units of asset 0
+        Random random = new Random(7);
+        TradingGraph.Builder builder = new TradingGraph.Builder();
+        for (int b = 1; b < assetCount; b++) {
+            for (int q = 0; q < b; q++) {
+                builder.addPair(symbol("A" + b, "A" + q), (1.0 + b) / (1.0 + q));
+            }
+        }
+        TradingGraph graph = builder.build();
+
+        graphs = new TradingGraph[SNAPSHOTS];
+        for (int s = 0; s < SNAPSHOTS; s++) {
+            Map<String, Double> prices = new HashMap<>();
+            for (int b = 1; b < assetCount; b++) {
+                for (int q = 0; q < b; q++) {
+                    prices.put("A" + b + "A" + q, (1.0 + b) / (1.0 + q) * (1.0 + (random.nextDouble() - 0.5) * 0.01));
+                }
+            }
+            graphs[s] = graph.withPrices(MarketSnapshot.of(s + 1, prices));
+        }
+
+        base = graph.assetId("A0");
+        allowed = new BitSet();
+        allowed.set(0, graph.assetCount());
+
+        NebulaMindProperties properties = new NebulaMindProperties();
+        properties.getArbitrage().setSearchParallelism(1);
+        properties.getArbitrage().setMeetInTheMiddleMinLength(0);
+        dfs = new SandboxArbitrageAnalyzer(mock(ExchangeGateway.class), mock(SymbolRegistry.class), properties);
+
+        CycleCatalog.Key key = new CycleCatalog.Key(base, chainLength, allowed);
+        CycleEvaluator vector = CycleEvaluator.vector();
+        scalarCatalog = CycleCatalog.build(graph, key, Integer.MAX_VALUE, new ScalarCycleEvaluator());
+        vectorCatalog = CycleCatalog.build(graph, key, Integer.MAX_VALUE, vector != null ? vector : new ScalarCycleEvaluator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        dfs.shutdown();
+    }
+
+    @Benchmark
+    public List<int[]> dfsSearch() {
+        return dfs.findCycles(nextGraph(), base, allowed, chainLength, 0.0, LIMIT, ScanBudget.unlimited());
+    }
+
+    @Benchmark
+    public double catalogScalar() {
+        return evaluate(scalarCatalog);
+    }
+
+    @Benchmark
+    public double catalogVector() {
+        return evaluate(vectorCatalog);
+    }
+
+    private double evaluate(CycleCatalog catalog) {
+        TopCycles top = new TopCycles(LIMIT, 1);
+        catalog.sync(nextGraph());
+        catalog.collect(0.0, top);
+        return top.threshold();
+    }
+
+    private TradingGraph nextGraph() {
+        next = (next + 1) % SNAPSHOTS;
+        return graphs[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CycleEvaluationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
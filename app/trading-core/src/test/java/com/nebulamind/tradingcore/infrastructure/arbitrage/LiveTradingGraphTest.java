@@ -0,0 +1,137 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for LiveTradingGraph
+ */
+class LiveTradingGraphTest {
+
+    private final Map<String, Double> prices = new HashMap<>();
+    private final Map<String, SymbolInfo> symbols = new HashMap<>();
+    private final Map<String, Double> volumes = new HashMap<>();
+    private LiveTradingGraph liveGraph;
+
+    @BeforeEach
+    void setUp() {
+        listPair("BTC", "USDT", 50000.0);
+        listPair("ETH", "USDT", 3000.0);
+        listPair("ETH", "BTC", 0.06);
+
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        SymbolFixtures.stubMarket(gateway, prices);
+        when(gateway.get24hQuoteVolume(anyString()))
+                .thenAnswer(inv -> volumes.getOrDefault(inv.<String>getArgument(0), 0.0));
+
+        SymbolFixtures.stubSymbols(gateway, symbols);
+
+        liveGraph = new LiveTradingGraph(gateway, new SymbolRegistry(gateway), 0);
+    }
+
+    @Test
+    void refresh_priceChange_shouldRepriceTopologyWithoutTouchingOldSnapshot() {
+        // Given
+        TradingGraph graph = liveGraph.refresh();
+        int btcUsdt = graph.symbolIndex("BTCUSDT");
+
+        // When
+        TradingGraph unchanged = liveGraph.refresh();
+        listPair("BTC", "USDT", 51000.0);
+        TradingGraph refreshed = liveGraph.refresh();
+
+        // Then
+        assertThat(unchanged).isSameAs(graph);
+        assertThat(refreshed).isNotSameAs(graph);
+        assertThat(refreshed.hasSameTopology(graph)).isTrue();
+        assertThat(refreshed.snapshotVersion()).isGreaterThan(graph.snapshotVersion());
+        assertThat(graph.price(btcUsdt)).isEqualTo(50000.0);
+        assertThat(refreshed.price(btcUsdt)).isEqualTo(51000.0);
+        int usdt = refreshed.assetId("USDT");
+        int btc = refreshed.assetId("BTC");
+        for (int e = refreshed.edgeStart(btc); e < refreshed.edgeEnd(btc); e++) {
+            if (refreshed.target(e) == usdt) {
+                assertThat(refreshed.rate(e)).isEqualTo(51000.0);
+                assertThat(refreshed.logRate(e)).isEqualTo(Math.log(51000.0));
+            }
+        }
+    }
+
+    @Test
+    void selectTopAssets_shouldPreferMostLiquidNeighbours() {
+        // Given
+        listPair("BNB", "USDT", 400.0);
+        listPair("BTC", "ETH", 16.0);
+        volumes.put("BTCUSDT", 1_000_000.0);
+        volumes.put("ETHUSDT", 5_000_000.0);
+        volumes.put("BNBUSDT", 100_000.0);
+        TradingGraph graph = liveGraph.refresh();
+        int btc = graph.assetId("BTC");
+
+        // When
+        BitSet fromUsdt = graph.selectTopAssets(graph.assetId("USDT"), 3, 3);
+        // BTC -> USDT trades 1M / 50000 = 20 BTC, BTC -> ETH trades 25 ETH / 16 = 1.56 BTC
+        volumes.put("BTCETH", 25.0);
+        volumes.put("ETHBTC", 0.0);
+        graph = liveGraph.refresh();
+        int[] fromBtc = graph.liquidityRanking(btc);
+
+        // Then
+        assertThat(graph.assetNames(fromUsdt)).containsExactlyInAnyOrder("USDT", "ETH", "BTC");
+        assertThat(fromBtc).containsExactly(graph.assetId("USDT"), graph.assetId("ETH"));
+    }
+
+    @Test
+    void selectTopAssets_deadEnds_shouldNotTakeSlotsOfCycleChains() {
+        // Given: BNB only trades against USDT, DOGE only against BNB, both more liquid than BTC
+        listPair("BNB", "USDT", 400.0);
+        listPair("DOGE", "BNB", 0.0002);
+        volumes.put("BNBUSDT", 9_000_000.0);
+        volumes.put("ETHUSDT", 5_000_000.0);
+        volumes.put("BTCUSDT", 1_000_000.0);
+        TradingGraph graph = liveGraph.refresh();
+        int usdt = graph.assetId("USDT");
+
+        // When
+        BitSet cycles = graph.selectTopAssets(usdt, 3, 3);
+        BitSet roundTrips = graph.selectTopAssets(usdt, 3, 2);
+
+        // Then
+        assertThat(graph.assetNames(graph.cycleAssets(usdt))).containsExactlyInAnyOrder("USDT", "BTC", "ETH");
+        assertThat(graph.assetNames(cycles)).containsExactlyInAnyOrder("USDT", "ETH", "BTC");
+        assertThat(graph.assetNames(roundTrips)).containsExactlyInAnyOrder("USDT", "BNB", "ETH");
+    }
+
+    @Test
+    void refresh_pairListChange_shouldRebuildTopology() {
+        // Given
+        TradingGraph graph = liveGraph.refresh();
+        assertThat(graph.assetId("BNB")).isEqualTo(-1);
+
+        // When
+        listPair("BNB", "USDT", 400.0);
+        TradingGraph rebuilt = liveGraph.refresh();
+
+        // Then
+        assertThat(rebuilt).isNotSameAs(graph);
+        assertThat(rebuilt.assetId("BNB")).isNotNegative();
+        assertThat(rebuilt.symbolCount()).isEqualTo(4);
+    }
+
+    private void listPair(String base, String quote, double price) {
+        prices.put(base + quote, price);
+        symbols.put(base + quote, SymbolFixtures.symbol(base, quote));
+    }
+}
@@ -0,0 +1,51 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for MinAmountCalculator
+ */
+class MinAmountCalculatorTest {
+
+    @Test
+    void minRequiredAmount_shouldTakeStrictestStepConvertedToBase() {
+        // Given: USDT -> BTC -> ETH -> USDT, the final sell of 0.1 ETH is the binding limit
+        SymbolInfo ethUsdt = symbol("ETH", "USDT");
+        ethUsdt.setMinQty(0.1);
+        SymbolInfo btcUsdt = symbol("BTC", "USDT");
+        btcUsdt.setMinNotional(10.0);
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenReturn(List.of(btcUsdt, symbol("ETH", "BTC"), ethUsdt));
+        SymbolRegistry registry = new SymbolRegistry(gateway);
+
+        List<ArbitrageStep> steps = List.of(
+                step("USDT", "BTC", "BTCUSDT", 1.0 / 50000),
+                step("BTC", "ETH", "ETHBTC", 1.0 / 0.05),
+                step("ETH", "USDT", "ETHUSDT", 2600.0));
+
+        // When
+        double required = MinAmountCalculator.minRequiredAmount(steps, registry);
+
+        // Then: 0.1 ETH costs 0.005 BTC, which costs 250 USDT
+        assertThat(required).isCloseTo(250.0, within(1e-6));
+
+        // When: first step alone, 0.001 BTC lot beats the 10 USDT min notional
+        assertThat(MinAmountCalculator.minRequiredAmount(steps.subList(0, 1), registry)).isCloseTo(50.0, within(1e-6));
+    }
+
+    private ArbitrageStep step(String from, String to, String symbol, double rate) {
+        return ArbitrageStep.builder().fromAsset(from).toAsset(to).symbol(symbol).rate(rate).build();
+    }
+}
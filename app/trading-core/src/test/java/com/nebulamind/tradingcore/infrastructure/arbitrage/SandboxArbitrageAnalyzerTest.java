@@ -0,0 +1,368 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.port.ArbitrageAnalyzer;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SandboxExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SandboxArbitrageAnalyzer
+ */
+class SandboxArbitrageAnalyzerTest {
+
+    private final Map<String, Double> prices = new LinkedHashMap<>();
+    private final Map<String, SymbolInfo> symbols = new LinkedHashMap<>();
+    private ExchangeGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        listPair("BTC", "USDT", 50000.0);
+        listPair("ETH", "USDT", 3000.0);
+        listPair("BNB", "USDT", 400.0);
+        listPair("SOL", "USDT", 100.0);
+        listPair("ETH", "BTC", 0.0612);
+        listPair("BNB", "BTC", 0.0079);
+        listPair("SOL", "BTC", 0.00202);
+        listPair("BNB", "ETH", 0.134);
+        listPair("SOL", "ETH", 0.0331);
+
+        gateway = mock(ExchangeGateway.class);
+        SymbolFixtures.stubMarket(gateway, prices);
+        SymbolFixtures.stubSymbols(gateway, symbols);
+    }
+
+    @Test
+    void findArbitrageOpportunities_parallelSearch_shouldMatchSingleThreadedSearch() {
+        // Given
+        SandboxArbitrageAnalyzer sequential = analyzer(0, 1);
+        SandboxArbitrageAnalyzer parallel = analyzer(0, 4);
+
+        // When
+        List<ArbitrageChain> expected = sequential.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+        List<ArbitrageChain> actual = parallel.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // Then
+        assertThat(expected).isNotEmpty();
+        assertThat(paths(actual)).containsExactlyElementsOf(paths(expected));
+    }
+
+    @Test
+    void findArbitrageOpportunities_catalog_shouldMatchPerScanSearch() {
+        // Given
+        SandboxArbitrageAnalyzer perScan = analyzer(0, 2);
+        SandboxArbitrageAnalyzer catalog = analyzer(1000, 2);
+
+        // When
+        List<ArbitrageChain> expected = perScan.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+        List<ArbitrageChain> actual = catalog.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // Then
+        assertThat(paths(actual)).containsExactlyInAnyOrderElementsOf(paths(expected));
+    }
+
+    @Test
+    void findArbitrageOpportunities_profitBoundPruning_shouldKeepAllQualifyingChains() {
+        // Given
+        SandboxArbitrageAnalyzer perScan = analyzer(0, 1);
+        SandboxArbitrageAnalyzer catalog = analyzer(1000, 1);
+
+        // When
+        List<ArbitrageChain> expected = catalog.findArbitrageOpportunities("USDT", 10, 4, 0.5);
+        List<ArbitrageChain> actual = perScan.findArbitrageOpportunities("USDT", 10, 4, 0.5);
+
+        // Then
+        assertThat(expected).isNotEmpty();
+        assertThat(paths(actual)).containsExactlyElementsOf(paths(expected));
+        actual.forEach(chain -> assertThat(chain.getProfitPercent()).isGreaterThanOrEqualTo(0.5));
+    }
+
+    @Test
+    void findArbitrageOpportunities_withLimit_shouldReturnBestChainsOnly() {
+        // Given
+        SandboxArbitrageAnalyzer perScan = analyzer(0, 4);
+        SandboxArbitrageAnalyzer catalog = analyzer(1000, 4);
+        List<ArbitrageChain> all = perScan.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // When
+        List<ArbitrageChain> topPerScan = perScan.findArbitrageOpportunities("USDT", 10, 4, 0.0, 2);
+        List<ArbitrageChain> topCatalog = catalog.findArbitrageOpportunities("USDT", 10, 4, 0.0, 2);
+
+        // Then
+        assertThat(all).hasSizeGreaterThan(2);
+        assertThat(topPerScan).hasSize(2);
+        assertThat(topPerScan).extracting(ArbitrageChain::getProfitPercent)
+                .containsExactly(all.get(0).getProfitPercent(), all.get(1).getProfitPercent());
+        assertThat(topCatalog).extracting(ArbitrageChain::getProfitPercent)
+                .containsExactly(all.get(0).getProfitPercent(), all.get(1).getProfitPercent());
+    }
+
+    @Test
+    void findArbitrageOpportunities_repeatedScan_shouldKeepChainIds() {
+        // Given
+        SandboxArbitrageAnalyzer analyzer = analyzer(1000, 2);
+        List<ArbitrageChain> first = analyzer.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // When
+        List<ArbitrageChain> second = analyzer.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // Then
+        assertThat(first).extracting(ArbitrageChain::getId).doesNotHaveDuplicates();
+        assertThat(second).extracting(ArbitrageChain::getId)
+                .containsExactlyElementsOf(first.stream().map(ArbitrageChain::getId).toList());
+
+        assertThat(second).extracting(ArbitrageChain::getSnapshotVersion).containsOnly(first.get(0).getSnapshotVersion());
+
+        // When: market moves, catalog chains are re-priced from the new snapshot
+        prices.put("ETHBTC", 0.0615);
+        List<ArbitrageChain> moved = analyzer.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // Then
+        assertThat(moved).extracting(ArbitrageChain::getSnapshotVersion).containsOnly(first.get(0).getSnapshotVersion() + 1);
+    }
+
+    @Test
+    void findArbitrageOpportunitiesByBase_shouldMatchSingleBaseScansWithoutRepeats() {
+        // Given
+        SandboxArbitrageAnalyzer analyzer = analyzer(0, 2);
+        List<ArbitrageChain> usdtChains = analyzer.findArbitrageOpportunities("USDT", 10, 3, 0.0);
+        List<ArbitrageChain> btcChains = analyzer.findArbitrageOpportunities("BTC", 10, 3, 0.0);
+        List<String> usdtCycles = usdtChains.stream().map(ArbitrageChain::cycleKey).toList();
+
+        // When
+        Map<String, List<ArbitrageChain>> byBase = analyzer.findArbitrageOpportunitiesByBase(
+                List.of("USDT", "BTC", "XYZ"), 10, 3, 0.0, ArbitrageAnalyzer.NO_LIMIT);
+
+        // Then: BTC group holds only cycles that do not pass through USDT
+        assertThat(byBase.get("BTC")).isNotEmpty();
+        assertThat(byBase).containsOnlyKeys("USDT", "BTC", "XYZ");
+        assertThat(byBase.get("XYZ")).isEmpty();
+        assertThat(ids(byBase.get("USDT"))).containsExactlyInAnyOrderElementsOf(ids(usdtChains));
+        assertThat(ids(byBase.get("BTC"))).containsExactlyInAnyOrderElementsOf(ids(
+                btcChains.stream().filter(chain -> !usdtCycles.contains(chain.cycleKey())).toList()));
+        byBase.get("BTC").forEach(chain -> {
+            assertThat(chain.getSteps().get(0).getFromAsset()).isEqualTo("BTC");
+            assertThat(chain.getUniqueAssets()).doesNotContain("USDT");
+        });
+    }
+
+    @Test
+    void findArbitrageOpportunities_meetInTheMiddle_shouldMatchFullEnumeration() {
+        // Given
+        SandboxArbitrageAnalyzer dfs = analyzer(0, 2, 0);
+        SandboxArbitrageAnalyzer meetInTheMiddle = analyzer(0, 2, 3);
+
+        for (int chainLength = 3; chainLength <= 5; chainLength++) {
+            // When
+            List<ArbitrageChain> expected = dfs.findArbitrageOpportunities("USDT", 10, chainLength, 0.0);
+            List<ArbitrageChain> actual = meetInTheMiddle.findArbitrageOpportunities("USDT", 10, chainLength, 0.0);
+            List<ArbitrageChain> top = meetInTheMiddle.findArbitrageOpportunities("USDT", 10, chainLength, 0.0, 3);
+
+            // Then
+            assertThat(expected).isNotEmpty();
+            assertThat(paths(actual)).containsExactlyInAnyOrderElementsOf(paths(expected));
+            assertThat(top).extracting(ArbitrageChain::getProfitPercent)
+                    .containsExactlyElementsOf(expected.stream().limit(3).map(ArbitrageChain::getProfitPercent).toList());
+        }
+    }
+
+    @Test
+    void findArbitrageOpportunities_withTakerFees_shouldReportOnlyChainsProfitableAfterFees() {
+        // Given
+        Map<String, Double> grossProfits = analyzer(0, 1).findArbitrageOpportunities("USDT", 10, 3, 0.0).stream()
+                .collect(Collectors.toMap(chain -> paths(List.of(chain)).get(0), ArbitrageChain::getProfitPercent));
+        symbols.values().forEach(info -> info.setTakerFee(0.005));
+
+        // When
+        List<ArbitrageChain> chains = analyzer(0, 1).findArbitrageOpportunities("USDT", 10, 3, 0.0);
+
+        // Then: three taker fees of 0.5% are deducted from every gross profit
+        double feeFactor = Math.pow(0.995, 3);
+        List<String> expected = grossProfits.entrySet().stream()
+                .filter(entry -> (1 + entry.getValue() / 100) * feeFactor >= 1)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(expected).isNotEmpty().hasSizeLessThan(grossProfits.size());
+        assertThat(paths(chains)).containsExactlyInAnyOrderElementsOf(expected);
+        chains.forEach(chain -> assertThat(chain.getProfitPercent()).isCloseTo(
+                ((1 + grossProfits.get(paths(List.of(chain)).get(0)) / 100) * feeFactor - 1) * 100, within(1e-9)));
+    }
+
+    @Test
+    void findArbitrageOpportunities_deadlinePassed_shouldReturnChainsFoundInTime() {
+        for (int meetInTheMiddleMinLength : new int[]{0, 4}) {
+            // Given: per-scan search of 4 legs, by DFS and joined in the middle
+            SandboxArbitrageAnalyzer analyzer = analyzer(0, 2, meetInTheMiddleMinLength);
+
+            // When
+            ArbitrageScan expired = analyzer.scanArbitrageOpportunities(
+                    "USDT", 10, 4, 0.0, ArbitrageAnalyzer.NO_LIMIT, Instant.now().minusSeconds(1));
+            ArbitrageScan budgeted = analyzer.scanArbitrageOpportunities(
+                    "USDT", 10, 4, 0.0, ArbitrageAnalyzer.NO_LIMIT, Instant.now().plusSeconds(60));
+            List<ArbitrageChain> full = analyzer.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+            // Then: no time to search anything, or enough to search everything
+            assertThat(expired.getChains()).isEmpty();
+            assertThat(expired.isComplete()).isFalse();
+            assertThat(full).isNotEmpty();
+            assertThat(budgeted.isComplete()).isTrue();
+            assertThat(paths(budgeted.getChains())).containsExactlyInAnyOrderElementsOf(paths(full));
+        }
+    }
+
+    @Test
+    void findArbitrageOpportunities_newerSnapshotWithoutDeadline_shouldStopScan() {
+        // Given: per-scan search of 4 legs, market ticks right after the graph is priced
+        SandboxArbitrageAnalyzer analyzer = analyzer(0, 2);
+        MarketSnapshot priced = gateway.getMarketSnapshot();
+        MarketSnapshot newer = MarketSnapshot.of(priced.getVersion() + 1, new LinkedHashMap<>(prices));
+        when(gateway.getMarketSnapshot()).thenReturn(priced, newer);
+        when(gateway.getMarketVersion()).thenReturn(newer.getVersion());
+
+        // When
+        ArbitrageScan superseded = analyzer.scanArbitrageOpportunities(
+                "USDT", 10, 4, 0.0, ArbitrageAnalyzer.NO_LIMIT, null);
+        List<ArbitrageChain> current = analyzer.findArbitrageOpportunities("USDT", 10, 4, 0.0);
+
+        // Then: the stale scan gives up, the scan of the newer snapshot completes
+        assertThat(superseded.getChains()).isEmpty();
+        assertThat(superseded.isComplete()).isFalse();
+        assertThat(superseded.getSnapshotVersion()).isEqualTo(priced.getVersion());
+        assertThat(current).isNotEmpty();
+    }
+
+    @Test
+    void scanArbitrageOpportunities_marketTickingOnEveryRead_shouldCompleteWithoutDeadline() {
+        // Given: sandbox market producing a new snapshot on every read
+        NebulaMindProperties properties = new NebulaMindProperties();
+        properties.getSandbox().setTickMillis(0);
+        properties.getArbitrage().setDepthLevels(0);
+        SandboxExchangeGateway sandbox = new SandboxExchangeGateway(properties);
+        properties.getArbitrage().setCatalogMaxCycles(0);
+        SandboxArbitrageAnalyzer perScan = new SandboxArbitrageAnalyzer(sandbox, new SymbolRegistry(sandbox), properties);
+        NebulaMindProperties catalogProperties = new NebulaMindProperties();
+        catalogProperties.getArbitrage().setDepthLevels(0);
+        SandboxArbitrageAnalyzer catalog = new SandboxArbitrageAnalyzer(sandbox, new SymbolRegistry(sandbox), catalogProperties);
+
+        // When: every cycle qualifies, so the chain count depends on topology only
+        ArbitrageScan scan = perScan.scanArbitrageOpportunities(
+                "USDT", 10, 4, -100.0, ArbitrageAnalyzer.NO_LIMIT, null);
+        List<ArbitrageChain> all = catalog.findArbitrageOpportunities("USDT", 10, 4, -100.0);
+
+        // Then: polling for newer snapshots does not tick the market and cut the scan short
+        assertThat(scan.isComplete()).isTrue();
+        assertThat(scan.getChains()).isNotEmpty().hasSameSizeAs(all);
+        assertThat(sandbox.getMarketVersion()).isGreaterThanOrEqualTo(scan.getSnapshotVersion());
+    }
+
+    @Test
+    void findArbitrageOpportunities_withSpread_shouldBuyAtAskAndSellAtBid() {
+        // Given: mid-priced chains, then the same market quoted 1% wide
+        Map<String, Double> midProfits = analyzer(0, 1).findArbitrageOpportunities("USDT", 10, 3, 0.0).stream()
+                .collect(Collectors.toMap(chain -> paths(List.of(chain)).get(0), ArbitrageChain::getProfitPercent));
+        String[] symbolArray = prices.keySet().toArray(new String[0]);
+        double[] mids = prices.values().stream().mapToDouble(Double::doubleValue).toArray();
+        double[] bids = Arrays.stream(mids).map(mid -> mid * 0.995).toArray();
+        double[] asks = Arrays.stream(mids).map(mid -> mid * 1.005).toArray();
+        MarketSnapshot quoted = new MarketSnapshot(99, Instant.now(), symbolArray, mids, bids, asks);
+        when(gateway.getMarketSnapshot()).thenReturn(quoted);
+
+        // When
+        List<ArbitrageChain> chains = analyzer(0, 1).findArbitrageOpportunities("USDT", 10, 3, 0.0);
+
+        // Then: every leg pays half the spread, chains profitable only at mid are gone
+        assertThat(chains).isNotEmpty().hasSizeLessThan(midProfits.size());
+        chains.forEach(chain -> {
+            assertThat(midProfits).containsKey(paths(List.of(chain)).get(0));
+            chain.getSteps().forEach(step -> {
+                boolean isBuy = symbols.get(step.getSymbol()).getBaseAsset().equals(step.getToAsset());
+                assertThat(step.getRate()).isCloseTo(
+                        isBuy ? 1.0 / quoted.ask(step.getSymbol()) : quoted.bid(step.getSymbol()), within(1e-12));
+            });
+        });
+    }
+
+    @Test
+    void streamArbitrageOpportunities_shouldStreamSameChainsAsSearch() {
+        for (int chainLength = 3; chainLength <= 4; chainLength++) {
+            // Given: per-scan search, 4 legs are joined in the middle by the regular search only
+            SandboxArbitrageAnalyzer analyzer = analyzer(0, 4, 4);
+            List<ArbitrageChain> streamed = new CopyOnWriteArrayList<>();
+
+            // When
+            List<ArbitrageChain> expected = analyzer.findArbitrageOpportunities("USDT", 10, chainLength, 0.0);
+            analyzer.streamArbitrageOpportunities("USDT", 10, chainLength, 0.0, streamed::add);
+
+            // Then
+            assertThat(expected).isNotEmpty();
+            assertThat(paths(streamed)).containsExactlyInAnyOrderElementsOf(paths(expected));
+            streamed.forEach(chain -> assertThat(chain.getMinRequiredBaseAmount()).isPositive());
+        }
+    }
+
+    @Test
+    void streamArbitrageOpportunities_listenerStops_shouldEndSearch() {
+        // Given
+        SandboxArbitrageAnalyzer analyzer = analyzer(0, 1);
+        List<ArbitrageChain> streamed = new ArrayList<>();
+
+        // When
+        analyzer.streamArbitrageOpportunities("USDT", 10, 4, 0.0, chain -> {
+            streamed.add(chain);
+            return false;
+        });
+
+        // Then
+        assertThat(streamed).hasSize(1);
+    }
+
+    private SandboxArbitrageAnalyzer analyzer(int catalogMaxCycles, int parallelism) {
+        return analyzer(catalogMaxCycles, parallelism, 0);
+    }
+
+    private SandboxArbitrageAnalyzer analyzer(int catalogMaxCycles, int parallelism, int meetInTheMiddleMinLength) {
+        NebulaMindProperties properties = new NebulaMindProperties();
+        properties.getArbitrage().setCatalogMaxCycles(catalogMaxCycles);
+        properties.getArbitrage().setSearchParallelism(parallelism);
+        properties.getArbitrage().setMeetInTheMiddleMinLength(meetInTheMiddleMinLength);
+        return new SandboxArbitrageAnalyzer(gateway, new SymbolRegistry(gateway), properties);
+    }
+
+    private void listPair(String base, String quote, double price) {
+        prices.put(base + quote, price);
+        symbols.put(base + quote, SymbolFixtures.symbol(base, quote));
+    }
+
+    private static List<String> ids(List<ArbitrageChain> chains) {
+        return chains.stream().map(ArbitrageChain::getId).toList();
+    }
+
+    private static List<String> paths(List<ArbitrageChain> chains) {
+        return chains.stream()
+                .map(chain -> chain.getSteps().stream()
+                        .map(ArbitrageStep::getSymbol)
+                        .collect(Collectors.joining(">")))
+                .collect(Collectors.toList());
+    }
+}
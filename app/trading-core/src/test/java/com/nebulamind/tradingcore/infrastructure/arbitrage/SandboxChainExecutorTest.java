@@ -0,0 +1,150 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageChain;
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageStep;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.stubMarket;
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.stubSymbols;
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for SandboxChainExecutor
+ */
+class SandboxChainExecutorTest {
+
+    private final Map<String, Double> prices = new LinkedHashMap<>();
+    private final Map<String, SymbolInfo> symbols = new LinkedHashMap<>();
+    private ExchangeGateway gateway;
+    private SymbolRegistry symbolRegistry;
+    private SandboxChainExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        prices.put("BTCUSDT", 50000.0);
+        prices.put("ETHBTC", 0.06);
+        prices.put("ETHUSDT", 3010.0);
+        symbols.put("BTCUSDT", symbol("BTC", "USDT"));
+        symbols.put("ETHBTC", symbol("ETH", "BTC"));
+        symbols.put("ETHUSDT", symbol("ETH", "USDT"));
+
+        gateway = mock(ExchangeGateway.class);
+        stubSymbols(gateway, symbols);
+        stubMarket(gateway, prices);
+        when(gateway.placeOrder(any())).thenAnswer(inv -> fill(inv.getArgument(0)));
+        symbolRegistry = new SymbolRegistry(gateway);
+        executor = new SandboxChainExecutor(gateway, symbolRegistry);
+    }
+
+    @Test
+    void registerChain_afterExecution_shouldKeepResults() {
+        // Given
+        CompactChain chain = chain(0.3);
+        executor.registerChain(chain);
+        executor.executeChain(chain, 100.0);
+
+        // When: next scan finds the same chain again
+        executor.registerChain(chain(0.5));
+
+        // Then
+        ArbitrageChain status = executor.getChainStatus(chain.getId());
+        assertThat(status.getStatus()).isEqualTo(ArbitrageChain.ChainStatus.COMPLETED);
+        assertThat(status.getInitialAmount()).isEqualTo(100.0);
+        assertThat(status.getFinalAmount()).isPositive();
+        assertThat(executor.getChain(chain.getId())).isSameAs(chain);
+    }
+
+    @Test
+    void registerChain_waitingChain_shouldRefreshPrices() {
+        // Given
+        executor.registerChain(chain(0.3));
+
+        // When
+        CompactChain refound = chain(0.5);
+        executor.registerChain(refound);
+
+        // Then
+        assertThat(executor.getChain(refound.getId())).isSameAs(refound);
+        assertThat(executor.getChainStatus(refound.getId()).getStatus()).isEqualTo(ArbitrageChain.ChainStatus.FOUND);
+    }
+
+    @Test
+    void executeChain_whileExecuting_shouldReject() {
+        // Given: second execution of the same chain starts while the first places its orders
+        CompactChain chain = chain(0.3);
+        AtomicReference<Throwable> rejected = new AtomicReference<>();
+        doAnswer(inv -> {
+            if (rejected.get() == null) {
+                try {
+                    executor.executeChain(chain, 50.0);
+                } catch (IllegalStateException e) {
+                    rejected.set(e);
+                }
+            }
+            return fill(inv.getArgument(0));
+        }).when(gateway).placeOrder(any());
+
+        // When
+        ArbitrageChain result = executor.executeChain(chain, 100.0);
+
+        // Then
+        assertThat(rejected.get()).hasMessageContaining("already executing");
+        assertThat(result.getStatus()).isEqualTo(ArbitrageChain.ChainStatus.COMPLETED);
+        assertThat(result.getInitialAmount()).isEqualTo(100.0);
+
+        // Then: finished chain can run again
+        assertThat(executor.executeChain(chain, 100.0).getStatus()).isEqualTo(ArbitrageChain.ChainStatus.COMPLETED);
+    }
+
+    private CompactChain chain(double profitPercent) {
+        List<ArbitrageStep> steps = List.of(
+                step("BTCUSDT", "USDT", "BTC", 1.0 / 50000),
+                step("ETHBTC", "BTC", "ETH", 1.0 / 0.06),
+                step("ETHUSDT", "ETH", "USDT", 3010.0));
+        ArbitrageChain chain = ArbitrageChain.builder()
+                .id(ArbitrageChain.chainId(steps))
+                .baseAsset("USDT")
+                .steps(steps)
+                .profitPercent(profitPercent)
+                .status(ArbitrageChain.ChainStatus.FOUND)
+                .build();
+        return CompactChain.of(chain, symbolRegistry::id, symbolRegistry::get);
+    }
+
+    private ArbitrageStep step(String symbol, String from, String to, double rate) {
+        SymbolInfo info = symbols.get(symbol);
+        return ArbitrageStep.builder()
+                .fromAsset(from)
+                .toAsset(to)
+                .symbol(symbol)
+                .rate(rate)
+                .minQty(info.getMinQty())
+                .maxQty(info.getMaxQty())
+                .priceDecimals(info.getPriceDecimals())
+                .qtyDecimals(info.getQtyDecimals())
+                .build();
+    }
+
+    private Order fill(Order order) {
+        order.setStatus(Order.OrderStatus.FILLED);
+        order.setExecutedQty(order.getQuantity());
+        order.setAvgPrice(prices.get(order.getSymbol()));
+        return order;
+    }
+}
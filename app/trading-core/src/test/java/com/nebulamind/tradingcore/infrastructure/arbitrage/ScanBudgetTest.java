@@ -0,0 +1,56 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for ScanBudget
+ */
+class ScanBudgetTest {
+
+    @Test
+    void isExhausted_newerSnapshot_shouldSupersedeScan() {
+        // Given
+        AtomicLong marketVersion = new AtomicLong(7);
+        ScanBudget budget = ScanBudget.until(Instant.now().plusSeconds(60), 7, marketVersion::get);
+
+        // When
+        boolean beforeTick = budget.isExhausted();
+        marketVersion.incrementAndGet();
+
+        // Then
+        assertThat(beforeTick).isFalse();
+        assertThat(budget.isExhausted()).isTrue();
+        assertThat(budget.reason()).isEqualTo(ScanBudget.Reason.SUPERSEDED);
+    }
+
+    @Test
+    void isExhausted_deadlinePassed_shouldStayExhausted() {
+        // Given
+        ScanBudget budget = ScanBudget.until(Instant.now().minusMillis(1), 7, () -> 7);
+
+        // Then
+        assertThat(budget.isExhausted()).isTrue();
+        assertThat(budget.isExhausted()).isTrue();
+        assertThat(budget.reason()).isEqualTo(ScanBudget.Reason.DEADLINE);
+    }
+
+    @Test
+    void stop_unlimitedBudget_shouldEndScan() {
+        // Given
+        ScanBudget budget = ScanBudget.unlimited();
+
+        // When
+        boolean beforeStop = budget.isExhausted();
+        budget.stop();
+
+        // Then
+        assertThat(beforeStop).isFalse();
+        assertThat(budget.isExhausted()).isTrue();
+        assertThat(budget.reason()).isEqualTo(ScanBudget.Reason.STOPPED);
+    }
+}
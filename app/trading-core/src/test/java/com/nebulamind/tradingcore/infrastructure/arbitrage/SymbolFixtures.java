@@ -0,0 +1,64 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Symbol metadata and market data for arbitrage tests
+ */
+final class SymbolFixtures {
+
+    private SymbolFixtures() {
+    }
+
+    static SymbolInfo symbol(String base, String quote) {
+        return SymbolInfo.builder()
+                .symbol(base + quote)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .stepSize(0.001)
+                .minQty(0.001)
+                .maxQty(1000.0)
+                .minNotional(0.0)
+                .priceDecimals(8)
+                .qtyDecimals(3)
+                .build();
+    }
+
+    /**
+     * Stub gateway metadata with live view of symbols map
+     */
+    static void stubSymbols(ExchangeGateway gateway, Map<String, SymbolInfo> symbols) {
+        when(gateway.getSymbols()).thenAnswer(inv -> new ArrayList<>(symbols.values()));
+    }
+
+    /**
+     * Stub gateway snapshots with live view of prices map, version grows only when prices change
+     */
+    static void stubMarket(ExchangeGateway gateway, Map<String, Double> prices) {
+        AtomicReference<MarketSnapshot> last = new AtomicReference<>();
+        when(gateway.getMarketSnapshot()).thenAnswer(inv -> last.updateAndGet(snapshot -> {
+            Map<String, Double> current = new LinkedHashMap<>(prices);
+            if (snapshot != null && current.equals(pricesOf(snapshot))) {
+                return snapshot;
+            }
+            return MarketSnapshot.of(snapshot != null ? snapshot.getVersion() + 1 : 1, current);
+        }));
+    }
+
+    private static Map<String, Double> pricesOf(MarketSnapshot snapshot) {
+        Map<String, Double> prices = new LinkedHashMap<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            prices.put(snapshot.symbol(i), snapshot.price(i));
+        }
+        return prices;
+    }
+}
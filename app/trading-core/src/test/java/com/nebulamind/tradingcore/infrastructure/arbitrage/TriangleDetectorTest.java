@@ -0,0 +1,61 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static com.nebulamind.tradingcore.infrastructure.arbitrage.SymbolFixtures.symbol;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for TriangleDetector
+ */
+class TriangleDetectorTest {
+
+    @Test
+    void find_shouldMatchFullEnumerationAcrossMaskWords() {
+        // Given: 100 assets (two mask words), random pairs, one pair listed in both directions
+        Random random = new Random(42);
+        TradingGraph.Builder builder = new TradingGraph.Builder();
+        for (int a = 1; a < 100; a++) {
+            builder.addPair(symbol("A" + a, "A0"), 1 + random.nextDouble());
+        }
+        for (int i = 0; i < 600; i++) {
+            int a = 1 + random.nextInt(99);
+            int b = 1 + random.nextInt(99);
+            if (a != b) {
+                builder.addPair(symbol("A" + a, "A" + b), 0.5 + random.nextDouble());
+            }
+        }
+        builder.addPair(symbol("A1", "A70"), 1.1);
+        builder.addPair(symbol("A70", "A1"), 0.95);
+        TradingGraph graph = builder.build();
+
+        int base = graph.assetId("A0");
+        BitSet allowed = new BitSet();
+        allowed.set(0, graph.assetCount());
+        allowed.clear(graph.assetId("A5"));
+
+        // When
+        List<String> triangles = paths(new TriangleDetector(graph).find(graph, base, allowed, 0.0, 0).sorted());
+
+        // Then
+        CycleCatalog catalog = CycleCatalog.build(graph, new CycleCatalog.Key(base, 3, allowed), 1_000_000, new ScalarCycleEvaluator());
+        TopCycles all = new TopCycles(0, 1);
+        catalog.collect(0.0, all);
+        List<String> expected = new ArrayList<>();
+        for (int[] cycle : all.sorted()) {
+            expected.add(Arrays.toString(new int[]{catalog.edge(cycle[0], 0), catalog.edge(cycle[0], 1), catalog.edge(cycle[0], 2)}));
+        }
+        assertThat(expected).isNotEmpty();
+        assertThat(triangles).containsExactlyElementsOf(expected);
+    }
+
+    private static List<String> paths(int[][] cycles) {
+        return Arrays.stream(cycles).map(Arrays::toString).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for CrossRateMatrix
+ */
+class CrossRateMatrixTest {
+
+    private final Map<String, Double> prices = new LinkedHashMap<>();
+    private final Map<String, SymbolInfo> symbols = new LinkedHashMap<>();
+    private ExchangeGateway gateway;
+    private CrossRateMatrix crossRates;
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        listPair("BTC", "USDT", 50000.0);
+        listPair("ETH", "BTC", 0.06);
+        listPair("SOL", "ETH", 0.04);
+        listPair("BNB", "USDT", 400.0);
+        listPair("XMR", "EUR", 150.0);
+
+        gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenAnswer(inv -> new ArrayList<>(symbols.values()));
+        tick();
+        crossRates = new CrossRateMatrix(gateway, new SymbolRegistry(gateway));
+    }
+
+    @Test
+    void convert_shouldFollowShortestPathBothWays() {
+        // When
+        double solInUsdt = crossRates.convert(2.0, "SOL", "USDT");
+        double usdtInEth = crossRates.convert(3000.0, "USDT", "ETH");
+
+        // Then: SOL -> ETH -> BTC -> USDT and back
+        assertThat(solInUsdt).isCloseTo(2.0 * 0.04 * 0.06 * 50000.0, within(1e-9));
+        assertThat(usdtInEth).isCloseTo(3000.0 / 50000.0 / 0.06, within(1e-9));
+        assertThat(crossRates.convert(7.0, "BNB", "BNB")).isEqualTo(7.0);
+    }
+
+    @Test
+    void convert_newSnapshot_shouldRepriceOnlyRowsUsingChangedPair() {
+        // Given
+        CrossRateMatrix.Rates before = crossRates.current();
+
+        // When
+        prices.put("BNBUSDT", 410.0);
+        tick();
+        CrossRateMatrix.Rates after = crossRates.current();
+
+        // Then: rows of assets connected to BNB are recomputed, the row of disconnected XMR is shared
+        int bnb = after.topology.assetIds.get("BNB");
+        int sol = after.topology.assetIds.get("SOL");
+        int xmr = after.topology.assetIds.get("XMR");
+        assertThat(after.rows[bnb]).isNotSameAs(before.rows[bnb]);
+        assertThat(after.rows[sol]).isNotSameAs(before.rows[sol]);
+        assertThat(after.rows[xmr]).isSameAs(before.rows[xmr]);
+        assertThat(crossRates.convert(1.0, "BNB", "SOL")).isCloseTo(410.0 / 50000.0 / 0.06 / 0.04, within(1e-9));
+        assertThat(crossRates.convert(1.0, "SOL", "BNB")).isCloseTo(0.04 * 0.06 * 50000.0 / 410.0, within(1e-9));
+    }
+
+    @Test
+    void convert_disconnectedAssets_shouldFail() {
+        // Then
+        assertThat(crossRates.canConvert("XMR", "USDT")).isFalse();
+        assertThat(crossRates.canConvert("DOGE", "USDT")).isFalse();
+        assertThat(crossRates.canConvert("XMR", "EUR")).isTrue();
+        assertThatThrownBy(() -> crossRates.convert(1.0, "XMR", "USDT"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("XMR to USDT");
+    }
+
+    private void tick() {
+        when(gateway.getMarketSnapshot()).thenReturn(MarketSnapshot.of(++version, new LinkedHashMap<>(prices)));
+    }
+
+    private void listPair(String base, String quote, double price) {
+        prices.put(base + quote, price);
+        symbols.put(base + quote, SymbolInfo.builder()
+                .symbol(base + quote)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .build());
+    }
+}
@@ -0,0 +1,43 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for FeeSchedule
+ */
+class FeeScheduleTest {
+
+    @Test
+    void fees_shouldResolveSymbolThenTierThenGlobal() {
+        // Given
+        NebulaMindProperties.Fees fees = new NebulaMindProperties.Fees();
+        fees.setMakerPct(0.1);
+        fees.setTakerPct(0.1);
+        fees.getTiers().put("vip1", rate(0.08, 0.09));
+        fees.setTier("vip1");
+        fees.getSymbols().put("BTCUSDT", rate(null, 0.0));
+        FeeSchedule schedule = new FeeSchedule(fees);
+
+        // Then
+        assertThat(schedule.takerFee("BTCUSDT")).isEqualTo(0.0);
+        assertThat(schedule.makerFee("BTCUSDT")).isCloseTo(0.0008, within(1e-12));
+        assertThat(schedule.takerFee("ETHUSDT")).isCloseTo(0.0009, within(1e-12));
+
+        // When: no active tier
+        fees.setTier(null);
+
+        // Then
+        assertThat(schedule.takerFee("ETHUSDT")).isCloseTo(0.001, within(1e-12));
+    }
+
+    private NebulaMindProperties.FeeRate rate(Double makerPct, Double takerPct) {
+        NebulaMindProperties.FeeRate rate = new NebulaMindProperties.FeeRate();
+        rate.setMakerPct(makerPct);
+        rate.setTakerPct(takerPct);
+        return rate;
+    }
+}
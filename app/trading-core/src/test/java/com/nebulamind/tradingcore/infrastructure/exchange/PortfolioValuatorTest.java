@@ -0,0 +1,65 @@
+package com.nebulamind.tradingcore.infrastructure.exchange;
+
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.Portfolio;
+import com.nebulamind.tradingcore.domain.model.Position;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for PortfolioValuator
+ */
+class PortfolioValuatorTest {
+
+    @Test
+    void value_crossQuotedPosition_shouldConvertCopyAndKeepGatewayPortfolio() {
+        // Given: 0.5 ETH quoted in BTC, the gateway sums 0.5 * 0.06 BTC as if it were USDT
+        Map<String, Double> prices = new LinkedHashMap<>();
+        prices.put("BTCUSDT", 50000.0);
+        prices.put("ETHBTC", 0.06);
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenReturn(List.of(symbol("BTC", "USDT"), symbol("ETH", "BTC")));
+        when(gateway.getMarketSnapshot()).thenReturn(MarketSnapshot.of(1, prices));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(gateway);
+        PortfolioValuator valuator = new PortfolioValuator(symbolRegistry, new CrossRateMatrix(gateway, symbolRegistry));
+
+        Portfolio gatewayPortfolio = Portfolio.builder()
+                .currency("USDT")
+                .freeBalance(1000.0)
+                .positions(new ArrayList<>(List.of(Position.builder()
+                        .symbol("ETHBTC")
+                        .side(Position.PositionSide.LONG)
+                        .quantity(0.5)
+                        .currentPrice(0.06)
+                        .build())))
+                .build();
+        gatewayPortfolio.calculateEquity();
+
+        // When
+        Portfolio valued = valuator.value(gatewayPortfolio);
+
+        // Then
+        assertThat(valued.getTotalEquity()).isCloseTo(1000.0 + 0.5 * 0.06 * 50000.0, within(1e-9));
+        assertThat(gatewayPortfolio.getTotalEquity()).isCloseTo(1000.0 + 0.5 * 0.06, within(1e-9));
+        assertThat(valued.getPositions()).isNotSameAs(gatewayPortfolio.getPositions());
+    }
+
+    private static SymbolInfo symbol(String base, String quote) {
+        return SymbolInfo.builder()
+                .symbol(base + quote)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.nebulamind.tradingcore.infrastructure.risk;
+
+import com.nebulamind.tradingcore.config.NebulaMindProperties;
+import com.nebulamind.tradingcore.domain.model.MarketSnapshot;
+import com.nebulamind.tradingcore.domain.model.Order;
+import com.nebulamind.tradingcore.domain.model.Portfolio;
+import com.nebulamind.tradingcore.domain.model.SymbolInfo;
+import com.nebulamind.tradingcore.domain.port.ExchangeGateway;
+import com.nebulamind.tradingcore.domain.port.RiskManager;
+import com.nebulamind.tradingcore.infrastructure.exchange.CrossRateMatrix;
+import com.nebulamind.tradingcore.infrastructure.exchange.SymbolRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for DefaultRiskManager
+ */
+class DefaultRiskManagerTest {
+
+    private DefaultRiskManager riskManager;
+    private Portfolio portfolio;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Double> prices = new LinkedHashMap<>();
+        prices.put("BTCUSDT", 50000.0);
+        prices.put("ETHBTC", 0.06);
+        prices.put("XMREUR", 150.0);
+
+        ExchangeGateway gateway = mock(ExchangeGateway.class);
+        when(gateway.getSymbols()).thenReturn(List.of(
+                symbol("BTC", "USDT"), symbol("ETH", "BTC"), symbol("XMR", "EUR")));
+        when(gateway.getMarketSnapshot()).thenReturn(MarketSnapshot.of(1, prices));
+        SymbolRegistry symbolRegistry = new SymbolRegistry(gateway);
+
+        riskManager = new DefaultRiskManager(
+                new NebulaMindProperties(), symbolRegistry, new CrossRateMatrix(gateway, symbolRegistry));
+        portfolio = Portfolio.builder()
+                .currency("USDT")
+                .freeBalance(10000.0)
+                .totalEquity(10000.0)
+                .build();
+    }
+
+    @Test
+    void validateOrder_crossQuotedOrder_shouldValueInPortfolioCurrency() {
+        // Given: 0.1 ETH = 0.006 BTC = 300 USDT, limit is 5% of 10000 USDT
+        Order small = order("ETHBTC", 0.1);
+        Order large = order("ETHBTC", 0.2);
+
+        // When
+        RiskManager.ValidationResult smallResult = riskManager.validateOrder(small, portfolio);
+        RiskManager.ValidationResult largeResult = riskManager.validateOrder(large, portfolio);
+
+        // Then
+        assertThat(smallResult.valid()).isTrue();
+        assertThat(largeResult.valid()).isFalse();
+        assertThat(largeResult.message()).contains("Order value 600.00 exceeds max allowed 500.00");
+    }
+
+    @Test
+    void validateOrder_unknownSymbol_shouldFail() {
+        // When
+        RiskManager.ValidationResult result = riskManager.validateOrder(order("DOGEUSDT", 1.0), portfolio);
+
+        // Then
+        assertThat(result.valid()).isFalse();
+        assertThat(result.message()).isEqualTo("Unknown symbol: DOGEUSDT");
+    }
+
+    @Test
+    void validateOrder_noConversionToPortfolioCurrency_shouldFail() {
+        // When
+        RiskManager.ValidationResult result = riskManager.validateOrder(order("XMREUR", 1.0), portfolio);
+
+        // Then
+        assertThat(result.valid()).isFalse();
+        assertThat(result.message()).isEqualTo("Cannot value XMREUR in USDT");
+    }
+
+    private static Order order(String symbol, double quantity) {
+        return Order.builder()
+                .symbol(symbol)
+                .side(Order.OrderSide.BUY)
+                .type(Order.OrderType.MARKET)
+                .quantity(quantity)
+                .stopLossPrice(1.0)
+                .build();
+    }
+
+    private static SymbolInfo symbol(String base, String quote) {
+        return SymbolInfo.builder()
+                .symbol(base + quote)
+                .baseAsset(base)
+                .quoteAsset(quote)
+                .build();
+    }
+}
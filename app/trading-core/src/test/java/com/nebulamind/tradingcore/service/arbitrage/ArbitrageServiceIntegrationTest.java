@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -108,6 +109,22 @@ class ArbitrageServiceIntegrationTest {
         });
     }
     
+    @Test
+    void streamProfitableChains_withLimit_shouldEmitRegisteredChains() {
+        // When
+        List<ArbitrageChain> chains = arbitrageService.streamProfitableChains("USDT", 10, 4, 0.0, 2)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        
+        // Then
+        assertThat(chains).isNotNull().hasSizeLessThanOrEqualTo(2);
+        chains.forEach(chain -> {
+            assertThat(chain.isValid(4)).isTrue();
+            assertThat(chain.getProfitPercent()).isGreaterThanOrEqualTo(0.0);
+            assertThat(arbitrageService.getChainStatus(chain.getId())).isNotNull();
+        });
+    }
+    
     @Test
     void scanAndExecute_shouldRegisterAndExecuteChain() {
         // Given: First, scan for chains
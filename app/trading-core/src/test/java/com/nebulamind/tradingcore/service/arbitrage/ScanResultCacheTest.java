@@ -0,0 +1,134 @@
+package com.nebulamind.tradingcore.service.arbitrage;
+
+import com.nebulamind.tradingcore.domain.model.arbitrage.ArbitrageScan;
+import com.nebulamind.tradingcore.domain.model.arbitrage.CompactChain;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for ScanResultCache
+ */
+class ScanResultCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScanResultCache cache = new ScanResultCache(2, meterRegistry);
+    private final AtomicInteger scans = new AtomicInteger();
+
+    @Test
+    void get_sameRequestAndVersion_shouldScanOnce() {
+        // When
+        List<CompactChain> first = cache.get(key(1), () -> scan(1));
+        List<CompactChain> second = cache.get(key(1), () -> scan(1));
+        cache.get(key(2), () -> scan(2));
+
+        // Then: new snapshot version is a new scan
+        assertThat(second).isSameAs(first);
+        assertThat(scans.get()).isEqualTo(2);
+        assertThat(count("hit")).isEqualTo(1.0);
+        assertThat(count("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void get_concurrentIdenticalRequests_shouldShareOneScan() throws Exception {
+        // Given: first scan blocks until the second caller is waiting
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<List<CompactChain>> owner = executor.submit(() -> cache.get(key(1), () -> {
+            started.countDown();
+            await(release);
+            return scan(1);
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<List<CompactChain>> waiter = executor.submit(() -> cache.get(key(1), () -> scan(1)));
+        while (count("hit") < 1.0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(owner.get(5, TimeUnit.SECONDS));
+        assertThat(scans.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void get_failedScan_shouldNotBeCached() {
+        // When
+        assertThatThrownBy(() -> cache.get(key(1), () -> {
+            throw new IllegalStateException("exchange down");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.get(key(1), () -> scan(1));
+
+        // Then
+        assertThat(scans.get()).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void get_scanPricedNewerSnapshot_shouldCacheUnderPricedVersion() {
+        // When: requested at version 1, the market ticked before the graph was priced
+        List<CompactChain> newer = cache.get(key(1), () -> scan(2));
+        List<CompactChain> atPricedVersion = cache.get(key(2), () -> scan(2));
+        cache.get(key(1), () -> scan(1));
+        cache.get(key(3), () -> scan(ArbitrageScan.UNKNOWN_VERSION));
+        cache.get(key(3), () -> scan(3));
+
+        // Then: only the scan that priced version 2 is reused, unknown versions are not cached
+        assertThat(atPricedVersion).isSameAs(newer);
+        assertThat(scans.get()).isEqualTo(4);
+    }
+
+    @Test
+    void get_cutShortScan_shouldNotBeCached() {
+        // When
+        List<CompactChain> partial = cache.get(key(1), () -> {
+            scans.incrementAndGet();
+            return new ScanResultCache.Scan(List.of(), 1, false);
+        });
+        List<CompactChain> full = cache.get(key(1), () -> scan(1));
+
+        // Then
+        assertThat(partial).isEmpty();
+        assertThat(full).hasSize(1);
+        assertThat(scans.get()).isEqualTo(2);
+    }
+
+    private ScanResultCache.Scan scan(long snapshotVersion) {
+        scans.incrementAndGet();
+        return new ScanResultCache.Scan(List.of(new CompactChain(UUID.randomUUID(), new int[]{0, 1, 2},
+                new long[]{0b101}, new double[]{1.0, 1.0, 1.0}, 0.0, 0.0, snapshotVersion, 0, null, Double.NaN, Double.NaN)),
+                snapshotVersion, true);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("arbitrage.scan.cache").tag("result", result).counter().count();
+    }
+
+    private static ScanResultCache.Key key(long snapshotVersion) {
+        return new ScanResultCache.Key("USDT", 10, 3, 0.1, 5, 0L, snapshotVersion);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nebulamind.tradingcore.infrastructure.arbitrage;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Cycle evaluation with the JDK Vector API
+ *
+ * Every lane block gathers the log-rates of one edge column and accumulates
+ * them in registers, the tail shorter than one vector is evaluated scalar.
+ * Only compiled with the vector profile (mvn -Pvector) and loaded through
+ * {@link CycleEvaluator#vector()}. Needs {@code --add-modules jdk.incubator.vector},
+ * without it creating an instance fails with a LinkageError.
+ */
+final class VectorCycleEvaluator implements CycleEvaluator {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void evaluate(int[][] columns, int cycleCount, double[] logRates, double[] out) {
+        int upper = SPECIES.loopBound(cycleCount);
+        int c = 0;
+        for (; c < upper; c += SPECIES.length()) {
+            DoubleVector sum = DoubleVector.fromArray(SPECIES, logRates, 0, columns[0], c);
+            for (int k = 1; k < columns.length; k++) {
+                sum = sum.add(DoubleVector.fromArray(SPECIES, logRates, 0, columns[k], c));
+            }
+            sum.intoArray(out, c);
+        }
+        for (; c < cycleCount; c++) {
+            double sum = logRates[columns[0][c]];
+            for (int k = 1; k < columns.length; k++) {
+                sum += logRates[columns[k][c]];
+            }
+            out[c] = sum;
+        }
+    }
+}